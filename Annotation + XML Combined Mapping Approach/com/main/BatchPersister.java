@@ -0,0 +1,77 @@
+package com.main;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityTransaction;
+
+// Persists any number of entities in one transaction while keeping the
+// persistence context small: every batchSize entities it flushes (one JDBC
+// batch) and clears, so memory and dirty-checking cost stay flat.
+public class BatchPersister<T> {
+
+    private static final String BATCH_SIZE_PROPERTY = "hibernate.jdbc.batch_size";
+    private static final int DEFAULT_BATCH_SIZE = 50;
+
+    private final EntityManager eManager;
+    private final int batchSize;
+
+    // Throughput counters (cumulative over every persistAll() call)
+    private long persistedCount;
+    private long elapsedNanos;
+
+    // Uses the hibernate.jdbc.batch_size of the persistence unit
+    public BatchPersister(EntityManager eManager) {
+        this(eManager, configuredBatchSize(eManager));
+    }
+
+    public BatchPersister(EntityManager eManager, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be >= 1");
+        }
+        this.eManager = eManager;
+        this.batchSize = batchSize;
+    }
+
+    public long persistAll(Iterable<? extends T> entities) {
+        long start = System.nanoTime();
+        long count = 0;
+
+        EntityTransaction transaction = eManager.getTransaction();
+        transaction.begin();
+        try {
+            for (T entity : entities) {
+                eManager.persist(entity);
+                if (++count % batchSize == 0) {
+                    eManager.flush(); // Sends the JDBC batch
+                    eManager.clear(); // Detaches the flushed entities
+                }
+            }
+            eManager.flush();
+            eManager.clear();
+            transaction.commit();
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) transaction.rollback();
+            throw e;
+        }
+
+        persistedCount += count;
+        elapsedNanos += System.nanoTime() - start;
+        return count;
+    }
+
+    public long getPersistedCount() {
+        return persistedCount;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : persistedCount * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    private static int configuredBatchSize(EntityManager eManager) {
+        Object value = eManager.getEntityManagerFactory().getProperties().get(BATCH_SIZE_PROPERTY);
+        return value == null ? DEFAULT_BATCH_SIZE : Integer.parseInt(value.toString());
+    }
+}
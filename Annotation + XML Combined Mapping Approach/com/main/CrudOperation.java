@@ -1,9 +1,12 @@
 package com.main;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.EntityTransaction;
-import javax.persistence.Persistence;
 
 public class CrudOperation {
     private static EntityManagerFactory eFactory;
@@ -11,75 +14,89 @@ public class CrudOperation {
 
     public static void main(String[] args) {
         
-        eFactory = Persistence.createEntityManagerFactory("config");
+        eFactory = FastBootstrap.createEntityManagerFactory("config"); // Skips schema update when mapping is unchanged
 
         eManager = eFactory.createEntityManager();
 
         // Uncomment only one operation at a time to avoid conflicts
-        // insert();   // For Inserting data
-        // read();     // For Reading data
-        // update();   // For Updating data
-        // delete();      // For Deleting data
+        // Ids come from a sequence: pass them as program arguments, or the lowest ids in the table are used
+        // insert();   // For Inserting data (prints the generated ids)
+        List<Integer> ids = existingIds(args, 1);
+        if (ids.isEmpty()) {
+            System.out.println("❌ No employees yet: run insert() first");
+        } else {
+            // read(ids.get(0));     // For Reading data
+            // update(ids.get(0));   // For Updating data
+            // delete(ids.get(0));      // For Deleting data
+        }
 
         eManager.close();
         eFactory.close();
+        System.out.println(SqlMetrics.registry().report()); // What ran, how often, how long
     }
 
-    // INSERT operation
-    public static void insert() {
-        EntityTransaction transaction = eManager.getTransaction();
-        transaction.begin();
-
-        Employee e1 = new Employee(1, "John Doe", "New York", "Manager", 1234567890L);
-        Employee e2 = new Employee(2, "Jane Smith", "Los Angeles", "Developer", 9876543210L);
-        Employee e3 = new Employee(3, "Peter Jones", "Chicago", "Analyst", 5551112222L);
-        Employee e4 = new Employee(4, "Mary Brown", "Houston", "HR Specialist", 4443332211L);
-        Employee e5 = new Employee(5, "David Lee", "Miami", "Designer", 7778889900L);
-
-        eManager.persist(e1);
-        eManager.persist(e2);
-        eManager.persist(e3);
-        eManager.persist(e4);
-        eManager.persist(e5);
+    // INSERT operation, returns the generated ids
+    public static List<Integer> insert() {
+        List<Employee> employees = Arrays.asList(
+            new Employee("John Doe", "New York", "Manager", 1234567890L),
+            new Employee("Jane Smith", "Los Angeles", "Developer", 9876543210L),
+            new Employee("Peter Jones", "Chicago", "Analyst", 5551112222L),
+            new Employee("Mary Brown", "Houston", "HR Specialist", 4443332211L),
+            new Employee("David Lee", "Miami", "Designer", 7778889900L));
+
+        BatchPersister<Employee> persister = new BatchPersister<>(eManager);
+        persister.persistAll(employees);
+
+        List<Integer> ids = employees.stream().map(Employee::getId).collect(Collectors.toList());
+        System.out.println("✅ Data Inserted Successfully... (" + persister.getPersistedCount() + " rows, ids " + ids + ")");
+        return ids;
+    }
 
-        transaction.commit();
-        System.out.println("✅ Data Inserted Successfully...");
+    // Ids passed as program arguments, else the lowest count ids in the table (empty before the first insert)
+    private static List<Integer> existingIds(String[] args, int count) {
+        if (args.length > 0) {
+            return Arrays.stream(args).map(Integer::valueOf).collect(Collectors.toList());
+        }
+        return eManager.createQuery("SELECT e.id FROM Employee e ORDER BY e.id", Integer.class)
+            .setMaxResults(count)
+            .getResultList();
     }
 
     // READ operation
-    public static void read() {
-        Employee emp = eManager.find(Employee.class, 2);
+    public static void read(int id) {
+        Employee emp = eManager.find(Employee.class, id);
         
         if (emp != null) {
             System.out.println("✅ Data Retrieved: " + emp);
         } else {
-            System.out.println("❌ Employee not found with ID 3");
+            System.out.println("❌ Employee not found with ID " + id);
         }
     }
 
-    // UPDATE operation
-    public static void update() {
-        EntityTransaction transaction = eManager.getTransaction();
-        transaction.begin();
+    // UPDATE operation (versioned: find + change re-run on a concurrent modification)
+    public static void update(int id) {
+        OptimisticRetryExecutor retry = new OptimisticRetryExecutor(eFactory);
+        Employee employee = retry.execute(em -> {
+            Employee found = em.find(Employee.class, id);
+            if (found != null) {
+                found.setPost("HR");
+            }
+            return found;
+        });
 
-        Employee employee = eManager.find(Employee.class, 3);
         if (employee != null) {
-            employee.setPost("HR");        
-            eManager.merge(employee);      
-            System.out.println("✅ Data Updated Successfully...");
+            System.out.println("✅ Data Updated Successfully... (" + retry + ")");
         } else {
             System.out.println("❌ Employee not found. Update failed.");
         }
-
-        transaction.commit();
     }
 
     // DELETE operation
-    public static void delete() {
+    public static void delete(int id) {
         EntityTransaction transaction = eManager.getTransaction();
         transaction.begin();
 
-        Employee employee = eManager.find(Employee.class, 3);
+        Employee employee = eManager.find(Employee.class, id);
         if (employee != null) {
             eManager.remove(employee);  
             System.out.println("✅ Data Deleted Successfully...");
@@ -1,17 +1,27 @@
 package com.main;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
 // Entity Class
 
 @Entity
-@Table(name="EMP_2") // Optional
+@Cacheable // Second-level cache (shared-cache-mode ENABLE_SELECTIVE)
+@Table(name="EMP_2", // Optional
+       indexes=@Index(name="idx_emp2_city_post", columnList="e_city, e_post")) // City (+ post) lookups
 public class Employee {
 	
 	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "emp_2_seq")
+	@SequenceGenerator(name = "emp_2_seq", sequenceName = "emp_2_seq", initialValue = 1_000, allocationSize = 50) // 50 ids per round trip
 	@Column(name="e_id") //Optional
 	private int id;
 	
@@ -27,10 +37,23 @@ public class Employee {
 	@Column(name="e_phone")
 	private long mobileNo;
 	
+	// Optimistic lock: every UPDATE is "... WHERE id = ? AND version = ?" and increments it
+	@Version
+	private int version;
+	
 	public Employee() {
 		super();
 	}
 	
+	// Id assigned on persist
+	public Employee(String name, String city, String post, long mobileNo) {
+		super();
+		this.name = name;
+		this.city = city;
+		this.post = post;
+		this.mobileNo = mobileNo;
+	}
+	
 	public Employee(int id, String name, String city, String post, long mobileNo) {
 		super();
 		this.id = id;
@@ -70,10 +93,14 @@ public class Employee {
 	public void setMobileNo(long mobileNo) {
 		this.mobileNo = mobileNo;
 	}
+	// Read-only: Hibernate maintains it
+	public int getVersion() {
+		return version;
+	}
 	
 	@Override
 	public String toString() {
 		return "Employee [id=" + id + ", name=" + name + ", city=" + city + ", post=" + post + ", mobileNo=" + mobileNo
-				+ "]";
+				+ ", version=" + version + "]";
 	}
 }
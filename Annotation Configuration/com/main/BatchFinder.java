@@ -0,0 +1,83 @@
+package com.main;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+// findAll(Class, ids): loads many entities by id in a few round trips instead of one find() per id.
+//  1. ids already in the persistence context are taken from there
+//  2. ids in the second-level cache are resolved with find() (served by the cache, no SQL)
+//  3. the rest are loaded with "WHERE id IN (...)" in chunks of batchSize; every chunk is padded
+//     to a power-of-two size, so only log2(batchSize) statement shapes reach the statement cache
+// The result follows the input order; ids that do not exist map to null.
+public class BatchFinder {
+
+	private final EntityManager eManager;
+	private final int batchSize;
+
+	public BatchFinder(EntityManager eManager, int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("batchSize must be >= 1");
+		}
+		this.eManager = eManager;
+		this.batchSize = batchSize;
+	}
+
+	public <T> List<T> findAll(Class<T> type, Collection<?> ids) {
+		SessionImplementor session = eManager.unwrap(SessionImplementor.class);
+		EntityPersister persister = session.getFactory().getMetamodel().entityPersister(type);
+		Cache cache = eManager.getEntityManagerFactory().getCache();
+
+		Map<Object, T> found = new HashMap<>();
+		List<Object> toLoad = new ArrayList<>();
+		for (Object id : new LinkedHashSet<>(ids)) {
+			Object managed = session.getPersistenceContext().getEntity(session.generateEntityKey((Serializable) id, persister));
+			if (managed != null) {
+				found.put(id, type.cast(managed));
+			} else if (cache.contains(type, id)) {
+				found.put(id, eManager.find(type, id));
+			} else {
+				toLoad.add(id);
+			}
+		}
+
+		String jpql = "SELECT e FROM " + eManager.getMetamodel().entity(type).getName()
+			+ " e WHERE e." + persister.getIdentifierPropertyName() + " IN :ids";
+		for (int from = 0; from < toLoad.size(); from += batchSize) {
+			List<Object> chunk = padded(toLoad.subList(from, Math.min(from + batchSize, toLoad.size())));
+			for (T entity : eManager.createQuery(jpql, type).setParameter("ids", chunk).getResultList()) {
+				found.put(persister.getIdentifier(entity, session), entity);
+			}
+		}
+
+		List<T> result = new ArrayList<>(ids.size());
+		for (Object id : ids) {
+			result.add(found.get(id));
+		}
+		return result;
+	}
+
+	// Repeats the last id up to the next power of two: 3 ids -> 4 parameters, 5 ids -> 8 parameters
+	private static List<Object> padded(List<Object> chunk) {
+		int size = Integer.highestOneBit(chunk.size());
+		if (size < chunk.size()) {
+			size <<= 1;
+		}
+		List<Object> padded = new ArrayList<>(size);
+		padded.addAll(chunk);
+		while (padded.size() < size) {
+			padded.add(chunk.get(chunk.size() - 1));
+		}
+		return padded;
+	}
+}
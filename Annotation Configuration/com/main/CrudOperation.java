@@ -2,13 +2,14 @@ package com.main;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
+import java.util.stream.Collectors;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
-import javax.persistence.EntityTransaction;
 import javax.persistence.PersistenceException;
 
 import org.hibernate.jpa.HibernatePersistenceProvider;
@@ -17,6 +18,7 @@ public class CrudOperation {
 
 	private static EntityManagerFactory eFactory;
 	private static EntityManager eManager;
+	private static PersistenceUnitInfoImp unitInfo;
 
 	public static void main(String[] args) {
 
@@ -34,21 +36,30 @@ public class CrudOperation {
 			return;
 		}
 
-		// Convert to Map<String, String>
-		Map<String, String> map = new HashMap<>();
-		for (String key : properties.stringPropertyNames()) {
-			map.put(key, properties.getProperty(key));
-		}
-
 		try {
 			// Programmatic Hibernate + JPA setup without persistence.xml
+			unitInfo = new PersistenceUnitInfoImp(properties); // Owns the HikariCP pool
+			// Integration map without the JDBC settings: they would win over the pooled (and routed) DataSource
 			eFactory = new HibernatePersistenceProvider()
-				.createContainerEntityManagerFactory(new PersistenceUnitInfoImp(properties), map);
+				.createContainerEntityManagerFactory(unitInfo, unitInfo.integrationProperties());
 
 			eManager = eFactory.createEntityManager();
 
-			insert();
-			read();
+			// Uncomment only one operation at a time to avoid conflicts
+			// Ids come from a sequence: pass them as program arguments, or the lowest ids in the table are used
+			// insert(); // Prints the generated ids
+			// parallelInsert(100_000);
+			List<Integer> ids = existingIds(args, 3);
+			if (ids.isEmpty()) {
+				System.out.println("❌ No employees yet: run insert() first");
+			} else {
+				read(ids.get(0));
+				// readMany(ids);
+				// bulkUpdatePost(ids, "Lead");
+				// update(ids.get(0), "Lead");
+			}
+
+			System.out.println(CacheReport.of(eFactory));
 
 		} catch (PersistenceException e) {
 			System.err.println("❌ Error initializing JPA/Hibernate: " + e.getMessage());
@@ -56,35 +67,107 @@ public class CrudOperation {
 		} finally {
 			if (eManager != null && eManager.isOpen()) eManager.close();
 			if (eFactory != null && eFactory.isOpen()) eFactory.close();
+			System.out.println(SqlMetrics.registry().report());
+			if (unitInfo != null) {
+				System.out.println(unitInfo.getPoolMetrics());
+				if (unitInfo.getRoutingDataSource() != null) System.out.println(unitInfo.getRoutingDataSource());
+				unitInfo.close();
+			}
 		}
 	}
 
-	public static void insert() {
-		EntityTransaction transaction = null;
+	// The generated ids, empty when the insert failed
+	public static List<Integer> insert() {
 		try {
-			transaction = eManager.getTransaction();
-			transaction.begin();
-
-			eManager.persist(new Employee(1, "John Doe", "New York", "Manager", 1234567890L));
-			eManager.persist(new Employee(2, "Jane Smith", "Los Angeles", "Developer", 9876543210L));
-			eManager.persist(new Employee(3, "Peter Jones", "Chicago", "Analyst", 5551112222L));
-
-			transaction.commit();
-			System.out.println("✅ Data Inserted Successfully...");
+			List<Employee> employees = Arrays.asList(
+				new Employee("John Doe", "New York", "Manager", 1234567890L),
+				new Employee("Jane Smith", "Los Angeles", "Developer", 9876543210L),
+				new Employee("Peter Jones", "Chicago", "Analyst", 5551112222L));
+
+			// Flushes and clears every hibernate.jdbc.batch_size entities (rolls back on failure)
+			BatchPersister<Employee> persister = new BatchPersister<>(eManager);
+			persister.persistAll(employees);
+
+			List<Integer> ids = employees.stream().map(Employee::getId).collect(Collectors.toList());
+			System.out.println("✅ Data Inserted Successfully... (" + persister.getPersistedCount() + " rows, ids " + ids + ")");
+			return ids;
 		} catch (Exception e) {
-			if (transaction != null && transaction.isActive()) transaction.rollback();
 			System.err.println("❌ Error inserting data: " + e.getMessage());
 			e.printStackTrace();
+			return List.of();
+		}
+	}
+
+	// Ids passed as program arguments, else the lowest count ids in the table (empty before the first insert)
+	private static List<Integer> existingIds(String[] args, int count) {
+		if (args.length > 0) {
+			return Arrays.stream(args).map(Integer::valueOf).collect(Collectors.toList());
+		}
+		return eManager.createQuery("SELECT e.id FROM Employee e ORDER BY e.id", Integer.class)
+			.setMaxResults(count)
+			.getResultList();
+	}
+
+	// Loads employees on one worker thread per pooled connection, each with its own EntityManager
+	public static void parallelInsert(int count) {
+		int workers = Integer.parseInt(unitInfo.getProperties().getProperty("hikari.maximumPoolSize", "10"));
+		ParallelLoader<Employee> loader = new ParallelLoader<>(eFactory, workers, 1_000, 3);
+
+		List<Employee> employees = new ArrayList<>(count);
+		for (int id = 1; id <= count; id++) {
+			employees.add(new Employee("Emp-" + id, "City-" + id % 50, "Developer", 9_000_000_000L + id));
 		}
+
+		ParallelLoader.Result result = loader.load(employees, EntityManager::persist);
+		System.out.println("✅ Parallel insert finished: " + result);
 	}
 
-	public static void read() {
-		final int searchId = 2;
-		Employee emp = eManager.find(Employee.class, searchId);
+	// Read-only transaction: served by a replica when app.routing.replicaUrls is set
+	public static void read(int id) {
+		Employee emp = ReadOnlyScope.call(eFactory, em -> em.find(Employee.class, id));
 		if (emp != null) {
 			System.out.println("✅ Data Retrieved: " + emp);
 		} else {
-			System.out.println("❌ Employee not found with ID " + searchId);
+			System.out.println("❌ Employee not found with ID " + id);
+		}
+	}
+
+	// Many ids in a few IN-list round trips (persistence context and second-level cache first)
+	public static void readMany(List<Integer> ids) {
+		List<Employee> employees = ReadOnlyScope.call(eFactory, em -> new BatchFinder(em, 64).findAll(Employee.class, ids));
+		for (int i = 0; i < ids.size(); i++) {
+			Employee emp = employees.get(i);
+			System.out.println(emp != null ? "✅ Data Retrieved: " + emp : "❌ Employee not found with ID " + ids.get(i));
+		}
+	}
+
+	// Read-modify-write on the primary: a concurrent change to the same employee makes the commit fail
+	// (@Version) and the executor re-runs find + change on the fresh row
+	public static void update(int id, String post) {
+		OptimisticRetryExecutor retry = new OptimisticRetryExecutor(eFactory);
+		Employee emp = retry.execute(em -> {
+			Employee found = em.find(Employee.class, id);
+			if (found != null) {
+				found.setPost(post);
+			}
+			return found;
+		});
+		if (emp != null) {
+			System.out.println("✅ Data Updated: " + emp + " (" + retry + ")");
+		} else {
+			System.out.println("❌ Employee not found with ID " + id);
+		}
+	}
+
+	// ETL-style bulk update; app.bulk.mode in config.properties picks EntityManager or StatelessSession
+	public static void bulkUpdatePost(List<Integer> ids, String post) {
+		List<Employee> employees = new BatchFinder(eManager, 64).findAll(Employee.class, ids);
+		employees.removeIf(emp -> emp == null);
+		employees.forEach(emp -> emp.setPost(post));
+		eManager.clear();
+
+		try (BulkWriter<Employee> writer = BulkWriter.open(eFactory)) {
+			System.out.println("✅ Rows updated: " + writer.update(employees));
 		}
 	}
 }
@@ -1,15 +1,28 @@
 package com.main;
 
+import javax.persistence.Basic;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Lob;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
 @Entity
-@Table(name="emp_3")
+@Cacheable // Second-level cache (shared-cache-mode ENABLE_SELECTIVE)
+@Table(name="emp_3",
+       indexes=@Index(name="idx_emp3_city_post", columnList="city, post")) // City (+ post) lookups; Emp_Name is already UNIQUE
 public class Employee {
 	
 	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "emp_3_seq")
+	@SequenceGenerator(name = "emp_3_seq", sequenceName = "emp_3_seq", initialValue = 1_000_000, allocationSize = 50) // 50 ids per round trip
 	@Column(name="Emp_ID")
 	private int id;
 	
@@ -21,10 +34,29 @@ public class Employee {
 	private String post;
 	private long mobileNo;
 	
+	// Optimistic lock: every UPDATE is "... WHERE id = ? AND version = ?" and increments it
+	@Version
+	private int version;
+	
+	// Large and rarely read: only fetched on first access when the class is enhanced
+	@Lob
+	@Basic(fetch = FetchType.LAZY)
+	@Column(name="Emp_Notes")
+	private String notes;
+	
 	public Employee() {
 		super();
 	}
 	
+	// Id assigned on persist
+	public Employee(String name, String city, String post, long mobileNo) {
+		super();
+		this.name = name;
+		this.city = city;
+		this.post = post;
+		this.mobileNo = mobileNo;
+	}
+	
 	public Employee(int id, String name, String city, String post, long mobileNo) {
 		super();
 		this.id = id;
@@ -65,9 +97,20 @@ public class Employee {
 		this.mobileNo = mobileNo;
 	}
 	
+	public String getNotes() {
+		return notes;
+	}
+	public void setNotes(String notes) {
+		this.notes = notes;
+	}
+	// Read-only: Hibernate maintains it
+	public int getVersion() {
+		return version;
+	}
+	
 	@Override
 	public String toString() {
 		return "Employee [id=" + id + ", name=" + name + ", city=" + city + ", post=" + post + ", mobileNo=" + mobileNo
-				+ "]";
+				+ ", version=" + version + "]";
 	}
 }
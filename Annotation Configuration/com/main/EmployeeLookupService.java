@@ -0,0 +1,60 @@
+package com.main;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+// Find-by-id lookups for many concurrent, latency-sensitive callers (Java 21+).
+// Each request runs on its own virtual thread with its own short-lived EntityManager.
+// A semaphore sized to the connection pool caps how many requests are inside JDBC at once:
+// the rest park on the semaphore (which unmounts the virtual thread) instead of blocking
+// inside pool / driver code, where a synchronized section would pin the carrier thread.
+public class EmployeeLookupService implements AutoCloseable {
+
+	private final EntityManagerFactory eFactory;
+	private final Semaphore permits;
+	private final ExecutorService executor;
+
+	private EmployeeLookupService(EntityManagerFactory eFactory, int maxConcurrency, ExecutorService executor) {
+		this.eFactory = eFactory;
+		this.permits = new Semaphore(maxConcurrency);
+		this.executor = executor;
+	}
+
+	// 🔹 One virtual thread per request, at most maxConcurrency (= pool size) in the database
+	public static EmployeeLookupService virtualThreads(EntityManagerFactory eFactory, int maxConcurrency) {
+		return new EmployeeLookupService(eFactory, maxConcurrency, Executors.newVirtualThreadPerTaskExecutor());
+	}
+
+	// 🔹 Classic fixed platform-thread pool, for comparison (see LookupLoadBenchmark)
+	public static EmployeeLookupService platformThreads(EntityManagerFactory eFactory, int poolSize) {
+		return new EmployeeLookupService(eFactory, poolSize, Executors.newFixedThreadPool(poolSize));
+	}
+
+	public CompletableFuture<Employee> findById(int id) {
+		return CompletableFuture.supplyAsync(() -> lookup(id), executor);
+	}
+
+	private Employee lookup(int id) {
+		permits.acquireUninterruptibly();
+		try {
+			EntityManager eManager = eFactory.createEntityManager();
+			try {
+				return eManager.find(Employee.class, id);
+			} finally {
+				eManager.close(); // Returns the connection to the pool
+			}
+		} finally {
+			permits.release();
+		}
+	}
+
+	@Override
+	public void close() {
+		executor.close(); // Waits for in-flight lookups
+	}
+}
@@ -0,0 +1,31 @@
+package com.main;
+
+import java.lang.instrument.Instrumentation;
+
+// Optional java agent that gives PersistenceUnitInfoImp access to Instrumentation, so the
+// ClassTransformer Hibernate registers for runtime bytecode enhancement (hibernate.enhancer.*)
+// is applied when the entity classes are loaded.
+// Package it in a jar whose manifest has "Premain-Class: com.main.EnhancementAgent" and start with
+//   java -Dnet.bytebuddy.experimental=true -javaagent:enhancement-agent.jar com.main.CrudOperation
+// The Byte Buddy of Hibernate 5.6 cannot read Java 21 class files without net.bytebuddy.experimental;
+// PersistenceUnitInfoImp.addTransformer() fails the bootstrap when enhancement does not work.
+public final class EnhancementAgent {
+
+	private static volatile Instrumentation instrumentation;
+
+	private EnhancementAgent() {
+	}
+
+	public static void premain(String args, Instrumentation inst) {
+		instrumentation = inst;
+	}
+
+	public static void agentmain(String args, Instrumentation inst) {
+		instrumentation = inst;
+	}
+
+	// null when the JVM was started without the agent
+	static Instrumentation instrumentation() {
+		return instrumentation;
+	}
+}
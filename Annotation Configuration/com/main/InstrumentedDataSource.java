@@ -0,0 +1,188 @@
+package com.main;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+// The unit's DataSource (HikariCP pool or RoutingDataSource) with every Connection / Statement /
+// ResultSet it hands out wrapped, so executions are timed and recorded in SqlMetrics.
+// PersistenceUnitInfoImp gives Hibernate this wrapper; the pool itself stays reachable through target().
+public class InstrumentedDataSource implements DataSource {
+
+	private final DataSource target;
+
+	public InstrumentedDataSource(DataSource target, long slowThresholdMillis, int nPlusOneThreshold) {
+		this.target = target;
+		SqlMetrics.registry().configure(slowThresholdMillis, nPlusOneThreshold);
+	}
+
+	public DataSource target() {
+		return target;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return wrap(target.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return wrap(target.getConnection(username, password));
+	}
+
+	// close() goes straight to the pool's connection, which returns it to the pool
+	private static Connection wrap(Connection connection) {
+		return proxy(Connection.class, connection, new ConnectionHandler(connection));
+	}
+
+	// 🔹 Everything else is the target's
+	@Override
+	public PrintWriter getLogWriter() throws SQLException {
+		return target.getLogWriter();
+	}
+
+	@Override
+	public void setLogWriter(PrintWriter out) throws SQLException {
+		target.setLogWriter(out);
+	}
+
+	@Override
+	public void setLoginTimeout(int seconds) throws SQLException {
+		target.setLoginTimeout(seconds);
+	}
+
+	@Override
+	public int getLoginTimeout() throws SQLException {
+		return target.getLoginTimeout();
+	}
+
+	@Override
+	public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+		return target.getParentLogger();
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		return iface.isInstance(this) ? iface.cast(this) : target.unwrap(iface);
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(this) || target.isWrapperFor(iface);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+		return (T) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[] {type}, handler);
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	// Wraps prepareStatement(sql) / prepareCall(sql) / createStatement()
+	private static final class ConnectionHandler implements InvocationHandler {
+		private final Connection target;
+
+		ConnectionHandler(Connection target) {
+			this.target = target;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			Object result = InstrumentedDataSource.invoke(target, method, args);
+			if (result instanceof PreparedStatement && args != null && args[0] instanceof String) {
+				StatementHandler handler = new StatementHandler((Statement) result, SqlMetrics.registry().statsFor((String) args[0]));
+				return result instanceof CallableStatement // Keeps registerOutParameter() & co. for callers
+					? proxy(CallableStatement.class, (CallableStatement) result, handler)
+					: proxy(PreparedStatement.class, (PreparedStatement) result, handler);
+			}
+			if (result instanceof Statement && !(result instanceof PreparedStatement)) {
+				return proxy(Statement.class, (Statement) result, new StatementHandler((Statement) result, null));
+			}
+			return result;
+		}
+	}
+
+	// Times execute* calls; plain Statements pass their SQL to execute(sql)
+	private static final class StatementHandler implements InvocationHandler {
+		private final Statement target;
+		private final StatementStats prepared;
+
+		StatementHandler(Statement target, StatementStats prepared) {
+			this.target = target;
+			this.prepared = prepared;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			if (!method.getName().startsWith("execute")) {
+				return InstrumentedDataSource.invoke(target, method, args);
+			}
+			StatementStats stats = prepared != null || args == null || !(args[0] instanceof String)
+				? prepared
+				: SqlMetrics.registry().statsFor((String) args[0]);
+
+			long start = System.nanoTime();
+			Object result = InstrumentedDataSource.invoke(target, method, args);
+			long elapsed = System.nanoTime() - start;
+			if (stats == null) {
+				return result;
+			}
+
+			SqlMetrics.registry().record(stats, elapsed, affectedRows(result));
+			if (result instanceof ResultSet) {
+				ResultSet resultSet = (ResultSet) result;
+				return proxy(ResultSet.class, resultSet, new ResultSetHandler(resultSet, stats));
+			}
+			return result;
+		}
+
+		private static long affectedRows(Object result) {
+			if (result instanceof Integer) return (Integer) result;
+			if (result instanceof Long) return (Long) result;
+			if (result instanceof int[]) {
+				long sum = 0;
+				for (int count : (int[]) result) if (count > 0) sum += count;
+				return sum;
+			}
+			return 0;
+		}
+	}
+
+	// Counts rows read through next()
+	private static final class ResultSetHandler implements InvocationHandler {
+		private final ResultSet target;
+		private final StatementStats stats;
+
+		ResultSetHandler(ResultSet target, StatementStats stats) {
+			this.target = target;
+			this.stats = stats;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			Object result = InstrumentedDataSource.invoke(target, method, args);
+			if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+				stats.addRows(1);
+			}
+			return result;
+		}
+	}
+}
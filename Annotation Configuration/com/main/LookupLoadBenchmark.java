@@ -0,0 +1,97 @@
+package com.main;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.jpa.HibernatePersistenceProvider;
+
+// Load generator: fires REQUESTS find-by-id lookups (CONCURRENCY outstanding at a time) through
+// EmployeeLookupService backed by virtual threads, then by a fixed platform-thread pool,
+// and prints p50 / p99 request latency for both.
+// Seeds its own employees (args[0], default 10,000) and looks up random ids among them, removing them
+// afterwards. The shared cache is off for the run: every lookup goes through the pool to the database.
+public class LookupLoadBenchmark {
+
+	private static final int REQUESTS = 50_000;
+	private static final int CONCURRENCY = 1_000;
+
+	public static void main(String[] args) throws IOException {
+		Properties properties = new Properties();
+		try (InputStream iReader = LookupLoadBenchmark.class.getClassLoader().getResourceAsStream("files/config.properties")) {
+			properties.load(iReader);
+		}
+		properties.setProperty("javax.persistence.sharedCache.mode", "NONE");
+		properties.setProperty("hibernate.cache.use_second_level_cache", "false");
+		properties.setProperty("hibernate.cache.use_query_cache", "false");
+
+		PersistenceUnitInfoImp unitInfo = new PersistenceUnitInfoImp(properties);
+		EntityManagerFactory eFactory = new HibernatePersistenceProvider()
+			.createContainerEntityManagerFactory(unitInfo, unitInfo.integrationProperties());
+		int poolSize = Integer.parseInt(properties.getProperty("hikari.maximumPoolSize", "10"));
+		int rows = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+		List<Employee> seeded = new ArrayList<>();
+
+		try {
+			int[] ids = seed(eFactory, rows, seeded);
+			try (EmployeeLookupService service = EmployeeLookupService.platformThreads(eFactory, poolSize)) {
+				report("Platform threads (" + poolSize + ")", run(service, ids));
+			}
+			try (EmployeeLookupService service = EmployeeLookupService.virtualThreads(eFactory, poolSize)) {
+				report("Virtual threads (cap " + poolSize + ")", run(service, ids));
+			}
+			System.out.println(unitInfo.getPoolMetrics());
+		} finally {
+			if (!seeded.isEmpty()) {
+				try (BulkWriter<Employee> writer = BulkWriter.open(eFactory)) {
+					writer.delete(seeded);
+				}
+			}
+			eFactory.close();
+			unitInfo.close();
+		}
+	}
+
+	// The ids come from the inserted rows: sequence ids start wherever the sequence stands
+	private static int[] seed(EntityManagerFactory eFactory, int rows, List<Employee> seeded) {
+		for (int i = 0; i < rows; i++) {
+			seeded.add(new Employee("Lookup-" + i, "City-" + i % 50, "Post-" + i % 20, 9_000_000_000L + i));
+		}
+		try (BulkWriter<Employee> writer = BulkWriter.open(eFactory)) {
+			writer.insert(seeded);
+		}
+		return seeded.stream().mapToInt(Employee::getId).toArray();
+	}
+
+	private static long[] run(EmployeeLookupService service, int[] ids) {
+		long[] latencies = new long[REQUESTS];
+		CompletableFuture<?>[] window = new CompletableFuture<?>[CONCURRENCY];
+
+		for (int i = 0; i < REQUESTS; i++) {
+			int slot = i % CONCURRENCY;
+			if (window[slot] != null) {
+				window[slot].join(); // Keep at most CONCURRENCY requests outstanding
+			}
+			int request = i;
+			long start = System.nanoTime();
+			window[slot] = service.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)])
+				.thenRun(() -> latencies[request] = System.nanoTime() - start);
+		}
+		CompletableFuture.allOf(Arrays.stream(window).filter(f -> f != null).toArray(CompletableFuture[]::new)).join();
+		return latencies;
+	}
+
+	private static void report(String label, long[] latencies) {
+		long[] sorted = latencies.clone();
+		Arrays.sort(sorted);
+		System.out.printf("%-28s p50 = %.2f ms, p99 = %.2f ms, max = %.2f ms%n", label,
+				sorted[sorted.length / 2] / 1e6, sorted[(int) (sorted.length * 0.99)] / 1e6, sorted[sorted.length - 1] / 1e6);
+	}
+}
@@ -0,0 +1,204 @@
+package com.main;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import javax.persistence.PersistenceUnitUtil;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.spi.MetamodelImplementor;
+
+// Parallel load / update executor on top of one shared EntityManagerFactory.
+// EntityManager is not thread-safe, so every partition gets its own EntityManager and
+// transaction on a worker thread. Workers should not exceed the connection pool size.
+//  - Backpressure: at most 2 x workers partitions are buffered; the producer blocks beyond that
+//  - Retry: a failed partition is rolled back and re-run up to maxRetries times; identifiers
+//    generated by the failed attempt are reset first, so persist() sees new entities again
+//  - Throughput: rows processed, failed partitions and rows/sec for the whole run
+public class ParallelLoader<T> {
+
+	private final EntityManagerFactory eFactory;
+	private final int workers;
+	private final int partitionSize;
+	private final int maxRetries;
+	private final int flushEvery;
+
+	public ParallelLoader(EntityManagerFactory eFactory, int workers, int partitionSize, int maxRetries) {
+		if (workers < 1 || partitionSize < 1 || maxRetries < 0) {
+			throw new IllegalArgumentException("workers and partitionSize must be >= 1, maxRetries >= 0");
+		}
+		this.eFactory = eFactory;
+		this.workers = workers;
+		this.partitionSize = partitionSize;
+		this.maxRetries = maxRetries;
+
+		// Flush + clear at hibernate.jdbc.batch_size boundaries inside a partition
+		Object batchSize = eFactory.getProperties().get("hibernate.jdbc.batch_size");
+		this.flushEvery = batchSize == null ? 50 : Integer.parseInt(batchSize.toString());
+	}
+
+	// 🔹 Applies operation (e.g. EntityManager::persist) to every item, partition by partition
+	public Result load(Iterable<? extends T> input, BiConsumer<EntityManager, ? super T> operation) {
+		ExecutorService executor = Executors.newFixedThreadPool(workers);
+		Semaphore inFlight = new Semaphore(workers * 2);
+		LongAdder processed = new LongAdder();
+		AtomicInteger partitions = new AtomicInteger();
+		AtomicInteger retries = new AtomicInteger();
+		List<Integer> failed = Collections.synchronizedList(new ArrayList<>());
+		long start = System.nanoTime();
+
+		try {
+			Iterator<? extends T> it = input.iterator();
+			while (it.hasNext()) {
+				List<T> partition = new ArrayList<>(partitionSize);
+				while (it.hasNext() && partition.size() < partitionSize) {
+					partition.add(it.next());
+				}
+				int partitionNo = partitions.incrementAndGet();
+
+				inFlight.acquireUninterruptibly(); // Backpressure
+				executor.execute(() -> {
+					try {
+						if (runWithRetry(partition, operation, retries)) {
+							processed.add(partition.size());
+						} else {
+							failed.add(partitionNo);
+						}
+					} finally {
+						inFlight.release();
+					}
+				});
+			}
+		} finally {
+			executor.shutdown();
+			awaitTermination(executor);
+		}
+
+		return new Result(processed.sum(), partitions.get(), retries.get(), failed, System.nanoTime() - start);
+	}
+
+	private boolean runWithRetry(List<T> partition, BiConsumer<EntityManager, ? super T> operation, AtomicInteger retries) {
+		List<Object> ids = identifiers(partition);
+		for (int attempt = 0; attempt <= maxRetries; attempt++) {
+			if (attempt > 0) {
+				retries.incrementAndGet();
+				sleep(50L << Math.min(attempt, 6)); // Exponential backoff
+			}
+			EntityManager eManager = eFactory.createEntityManager();
+			EntityTransaction transaction = eManager.getTransaction();
+			try {
+				transaction.begin();
+				int count = 0;
+				for (T item : partition) {
+					operation.accept(eManager, item);
+					if (++count % flushEvery == 0) {
+						eManager.flush();
+						eManager.clear();
+					}
+				}
+				transaction.commit();
+				return true;
+			} catch (RuntimeException e) {
+				if (transaction.isActive()) transaction.rollback();
+				restoreIdentifiers(partition, ids);
+				System.err.println("❌ Partition attempt " + (attempt + 1) + " failed: " + e.getMessage());
+			} finally {
+				eManager.close();
+			}
+		}
+		return false;
+	}
+
+	// Identifiers before the first attempt: null / 0 for new entities, the key for existing ones
+	private List<Object> identifiers(List<T> partition) {
+		PersistenceUnitUtil util = eFactory.getPersistenceUnitUtil();
+		List<Object> ids = new ArrayList<>(partition.size());
+		for (T item : partition) {
+			ids.add(util.getIdentifier(item));
+		}
+		return ids;
+	}
+
+	// A rolled-back persist() leaves the generated id on the entity: without this reset, every
+	// retry fails with "detached entity passed to persist"
+	private void restoreIdentifiers(List<T> partition, List<Object> ids) {
+		MetamodelImplementor metamodel = eFactory.unwrap(SessionFactoryImplementor.class).getMetamodel();
+		for (int i = 0; i < partition.size(); i++) {
+			T item = partition.get(i);
+			metamodel.entityPersister(item.getClass()).setIdentifier(item, (Serializable) ids.get(i), null);
+		}
+	}
+
+	private static void awaitTermination(ExecutorService executor) {
+		try {
+			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			executor.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public static class Result {
+		private final long rows;
+		private final int partitions;
+		private final int retries;
+		private final List<Integer> failedPartitions;
+		private final long elapsedNanos;
+
+		Result(long rows, int partitions, int retries, List<Integer> failedPartitions, long elapsedNanos) {
+			this.rows = rows;
+			this.partitions = partitions;
+			this.retries = retries;
+			this.failedPartitions = failedPartitions;
+			this.elapsedNanos = elapsedNanos;
+		}
+
+		public long getRows() {
+			return rows;
+		}
+
+		public int getPartitions() {
+			return partitions;
+		}
+
+		public int getRetries() {
+			return retries;
+		}
+
+		// 1-based partition numbers that still failed after every retry
+		public List<Integer> getFailedPartitions() {
+			return failedPartitions;
+		}
+
+		public double getRowsPerSecond() {
+			return elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("Rows: %d, Partitions: %d, Retries: %d, Failed: %s, Time: %d ms, Rows/sec: %.0f",
+					rows, partitions, retries, failedPartitions, elapsedNanos / 1_000_000, getRowsPerSecond());
+		}
+	}
+}
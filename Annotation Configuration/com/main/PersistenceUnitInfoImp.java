@@ -1,9 +1,20 @@
 package com.main;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.IllegalClassFormatException;
+import java.lang.instrument.Instrumentation;
 import java.net.URL;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import javax.persistence.SharedCacheMode;
 import javax.persistence.ValidationMode;
@@ -11,9 +22,17 @@ import javax.persistence.spi.ClassTransformer;
 import javax.persistence.spi.PersistenceUnitInfo;
 import javax.persistence.spi.PersistenceUnitTransactionType;
 import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
 public class PersistenceUnitInfoImp implements PersistenceUnitInfo {
 
 	private final Properties props;
+	private final PoolMetrics poolMetrics = new PoolMetrics();
+	private DataSource dataSource; // HikariDataSource, or a RoutingDataSource over primary + replica pools
+	private InstrumentedDataSource instrumented; // What Hibernate gets: dataSource with SQL metrics
+	private final List<ClassTransformer> transformers = new CopyOnWriteArrayList<>();
 
 	public PersistenceUnitInfoImp(Properties props) {
 		this.props = props;
@@ -41,7 +60,23 @@ public class PersistenceUnitInfoImp implements PersistenceUnitInfo {
 
 	@Override
 	public Properties getProperties() {
-		return props;
+		Properties hibernateProps = new Properties();
+		hibernateProps.putAll(integrationProperties());
+		return hibernateProps;
+	}
+
+	// The configuration without the javax.persistence.jdbc.* entries, for the unit properties and the
+	// integration map of createContainerEntityManagerFactory(). Those entries belong to the pool built
+	// below: given to Hibernate they would win over getNonJtaDataSource(), or make it ask the DataSource
+	// for per-user connections (unsupported by HikariCP).
+	public Map<String, String> integrationProperties() {
+		Map<String, String> map = new HashMap<>();
+		for (String key : props.stringPropertyNames()) {
+			if (!key.startsWith("javax.persistence.jdbc.")) {
+				map.put(key, props.getProperty(key));
+			}
+		}
+		return map;
 	}
 
 	@Override
@@ -58,11 +93,207 @@ public class PersistenceUnitInfoImp implements PersistenceUnitInfo {
 	@Override public List<URL> getJarFileUrls() { return null; }
 	@Override public List<String> getMappingFileNames() { return null; }
 	@Override public URL getPersistenceUnitRootUrl() { return null; }
-	@Override public SharedCacheMode getSharedCacheMode() { return SharedCacheMode.UNSPECIFIED; }
 	@Override public ValidationMode getValidationMode() { return ValidationMode.AUTO; }
-	@Override public ClassLoader getNewTempClassLoader() { return null; }
-	@Override public void addTransformer(ClassTransformer transformer) {}
 	@Override public DataSource getJtaDataSource() { return null; }
-	@Override public DataSource getNonJtaDataSource() { return null; }
 	@Override public String getPersistenceXMLSchemaVersion() { return "2.2"; }
+
+	// ENABLE_SELECTIVE by default: only @Cacheable entities go to the second-level cache
+	@Override
+	public SharedCacheMode getSharedCacheMode() {
+		return SharedCacheMode.valueOf(props.getProperty("javax.persistence.sharedCache.mode", "ENABLE_SELECTIVE"));
+	}
+
+	// 🔹 Bytecode enhancement
+
+	// Hibernate registers its enhancing ClassTransformer here when hibernate.enhancer.* is enabled.
+	// It only takes effect through the EnhancementAgent, and only for entity classes not loaded yet.
+	// The JVM drops exceptions thrown by a ClassFileTransformer and loads the class unchanged, so the
+	// transformer is first tried on every entity class here: bootstrap fails instead of running with
+	// un-enhanced entities.
+	@Override
+	public void addTransformer(ClassTransformer transformer) {
+		transformers.add(transformer);
+
+		Instrumentation instrumentation = EnhancementAgent.instrumentation();
+		if (instrumentation == null) {
+			System.err.println("⚠ No -javaagent: entities are not enhanced at runtime (use build-time enhancement instead)");
+			return;
+		}
+		List<String> managed = getManagedClassNames();
+		verifyEnhancement(transformer, instrumentation, managed);
+		instrumentation.addTransformer(new ClassFileTransformer() {
+			@Override
+			public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined,
+					ProtectionDomain protectionDomain, byte[] classfileBuffer) throws IllegalClassFormatException {
+				String name = className.replace('/', '.');
+				if (classBeingRedefined != null || !managed.contains(name)) {
+					return null; // Unchanged
+				}
+				try {
+					return transformer.transform(loader, name, null, protectionDomain, classfileBuffer);
+				} catch (IllegalClassFormatException | RuntimeException e) {
+					System.err.println("❌ " + name + " is loaded un-enhanced: " + e); // The JVM would swallow it
+					throw e;
+				}
+			}
+		});
+	}
+
+	private void verifyEnhancement(ClassTransformer transformer, Instrumentation instrumentation, List<String> managed) {
+		for (Class<?> loaded : instrumentation.getInitiatedClasses(getClassLoader())) {
+			if (managed.contains(loaded.getName())) {
+				throw new IllegalStateException("Entity " + loaded.getName()
+					+ " was loaded before bootstrap and cannot be enhanced at runtime any more");
+			}
+		}
+		for (String name : managed) {
+			try (InputStream in = getClassLoader().getResourceAsStream(name.replace('.', '/') + ".class")) {
+				if (in == null) continue; // Reported by Hibernate itself
+				transformer.transform(getClassLoader(), name, null, null, in.readAllBytes()); // null: nothing to do
+			} catch (IOException | IllegalClassFormatException | RuntimeException e) {
+				throw new IllegalStateException("Runtime enhancement of " + name + " failed. Hibernate 5.6's Byte Buddy "
+					+ "(1.12) cannot read Java 21 class files: start the JVM with -Dnet.bytebuddy.experimental=true", e);
+			}
+		}
+	}
+
+	public List<ClassTransformer> getTransformers() {
+		return Collections.unmodifiableList(transformers);
+	}
+
+	// Throwaway loader for inspecting entity classes at bootstrap without loading them
+	// (un-enhanced) into the application class loader
+	@Override
+	public ClassLoader getNewTempClassLoader() {
+		return new TempClassLoader(getClassLoader(), getManagedClassNames());
+	}
+
+	private static final class TempClassLoader extends ClassLoader {
+		private final List<String> managed;
+
+		TempClassLoader(ClassLoader parent, List<String> managed) {
+			super(parent);
+			this.managed = managed;
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (!managed.contains(name)) {
+				return super.loadClass(name, resolve);
+			}
+			synchronized (getClassLoadingLock(name)) {
+				Class<?> loaded = findLoadedClass(name);
+				if (loaded == null) {
+					try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+						if (in == null) throw new ClassNotFoundException(name);
+						byte[] bytes = in.readAllBytes();
+						loaded = defineClass(name, bytes, 0, bytes.length);
+					} catch (IOException e) {
+						throw new ClassNotFoundException(name, e);
+					}
+				}
+				if (resolve) resolveClass(loaded);
+				return loaded;
+			}
+		}
+	}
+
+	// Pooled DataSource (HikariCP) built from the javax.persistence.jdbc.* and hikari.* entries.
+	// With app.routing.replicaUrls set, read-only work (see ReadOnlyScope) is routed to replica pools.
+	// Every statement is timed into SqlMetrics on the way (thresholds: app.sql.*).
+	@Override
+	public synchronized DataSource getNonJtaDataSource() {
+		if (dataSource == null) {
+			HikariDataSource primary = createDataSource(getPersistenceUnitName() + "-pool",
+				props.getProperty("javax.persistence.jdbc.url"), poolMetrics, false);
+			List<String> replicaUrls = replicaUrls();
+			dataSource = replicaUrls.isEmpty() ? primary : createRoutingDataSource(primary, replicaUrls);
+			instrumented = new InstrumentedDataSource(dataSource,
+				longProperty("app.sql.slow_threshold_ms", 100), intProperty("app.sql.n_plus_one_threshold", 10));
+		}
+		return instrumented;
+	}
+
+	public PoolMetrics getPoolMetrics() {
+		return poolMetrics;
+	}
+
+	// Null unless app.routing.replicaUrls is set
+	public synchronized RoutingDataSource getRoutingDataSource() {
+		return dataSource instanceof RoutingDataSource ? (RoutingDataSource) dataSource : null;
+	}
+
+	// Hibernate does not close a DataSource it was handed, so the owner must
+	public synchronized void close() {
+		if (dataSource instanceof RoutingDataSource) {
+			((RoutingDataSource) dataSource).close();
+		} else if (dataSource != null && !((HikariDataSource) dataSource).isClosed()) {
+			((HikariDataSource) dataSource).close();
+		}
+	}
+
+	private List<String> replicaUrls() {
+		List<String> urls = new ArrayList<>();
+		for (String url : props.getProperty("app.routing.replicaUrls", "").split(",")) {
+			if (!url.isBlank()) urls.add(url.trim());
+		}
+		return urls;
+	}
+
+	private RoutingDataSource createRoutingDataSource(HikariDataSource primary, List<String> replicaUrls) {
+		List<RoutingDataSource.Replica> replicas = new ArrayList<>();
+		for (int i = 0; i < replicaUrls.size(); i++) {
+			PoolMetrics metrics = new PoolMetrics();
+			String url = replicaUrls.get(i);
+			replicas.add(new RoutingDataSource.Replica(url,
+				createDataSource(getPersistenceUnitName() + "-replica-" + (i + 1), url, metrics, true), metrics));
+		}
+		String lagQuery = props.getProperty("app.routing.lagQuery", "").trim();
+		return new RoutingDataSource(primary, replicas,
+			RoutingDataSource.Balance.valueOf(props.getProperty("app.routing.balance", "round_robin").trim().toUpperCase()),
+			longProperty("app.routing.healthCheckMillis", 5_000),
+			lagQuery.isEmpty() ? null : lagQuery,
+			longProperty("app.routing.maxLagSeconds", 10));
+	}
+
+	private HikariDataSource createDataSource(String poolName, String url, PoolMetrics metrics, boolean replica) {
+		HikariConfig config = new HikariConfig();
+		config.setPoolName(poolName);
+		config.setDriverClassName(props.getProperty("javax.persistence.jdbc.driver"));
+		config.setJdbcUrl(url);
+		config.setUsername(props.getProperty("javax.persistence.jdbc.user"));
+		config.setPassword(props.getProperty("javax.persistence.jdbc.password"));
+
+		// Pool sizing, timeouts and leak detection
+		config.setMaximumPoolSize(intProperty("hikari.maximumPoolSize", 10));
+		config.setMinimumIdle(intProperty("hikari.minimumIdle", config.getMaximumPoolSize()));
+		config.setConnectionTimeout(longProperty("hikari.connectionTimeout", 30_000));
+		config.setLeakDetectionThreshold(longProperty("hikari.leakDetectionThreshold", 0));
+
+		// Driver-side prepared statement cache (MySQL Connector/J)
+		config.addDataSourceProperty("cachePrepStmts", props.getProperty("hikari.cachePrepStmts", "true"));
+		config.addDataSourceProperty("prepStmtCacheSize", props.getProperty("hikari.prepStmtCacheSize", "250"));
+		config.addDataSourceProperty("prepStmtCacheSqlLimit", props.getProperty("hikari.prepStmtCacheSqlLimit", "2048"));
+		config.addDataSourceProperty("useServerPrepStmts", props.getProperty("hikari.useServerPrepStmts", "true"));
+
+		if (replica) {
+			// A replica that is down must neither fail bootstrap nor hold a read for 30 s
+			config.setReadOnly(true);
+			config.setInitializationFailTimeout(-1);
+			config.setConnectionTimeout(longProperty("app.routing.replicaConnectionTimeout", 2_000));
+		}
+
+		config.setMetricsTrackerFactory(metrics);
+		return new HikariDataSource(config);
+	}
+
+	private int intProperty(String key, int defaultValue) {
+		String value = props.getProperty(key);
+		return value == null ? defaultValue : Integer.parseInt(value.trim());
+	}
+
+	private long longProperty(String key, long defaultValue) {
+		String value = props.getProperty(key);
+		return value == null ? defaultValue : Long.parseLong(value.trim());
+	}
 }
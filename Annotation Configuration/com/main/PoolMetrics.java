@@ -0,0 +1,80 @@
+package com.main;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+// In-process metrics for the HikariCP pool built by PersistenceUnitInfoImp:
+// active / idle / waiting connections and connection-acquire latency.
+public class PoolMetrics implements MetricsTrackerFactory, IMetricsTracker {
+
+	private volatile PoolStats poolStats;
+
+	private final LongAdder acquireCount = new LongAdder();
+	private final LongAdder acquireNanos = new LongAdder();
+	private final LongAccumulator maxAcquireNanos = new LongAccumulator(Math::max, 0);
+	private final LongAdder timeouts = new LongAdder();
+
+	@Override
+	public IMetricsTracker create(String poolName, PoolStats poolStats) {
+		this.poolStats = poolStats;
+		return this;
+	}
+
+	@Override
+	public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+		acquireCount.increment();
+		acquireNanos.add(elapsedAcquiredNanos);
+		maxAcquireNanos.accumulate(elapsedAcquiredNanos);
+	}
+
+	@Override
+	public void recordConnectionTimeout() {
+		timeouts.increment();
+	}
+
+	public int getActiveConnections() {
+		return poolStats == null ? 0 : poolStats.getActiveConnections();
+	}
+
+	public int getIdleConnections() {
+		return poolStats == null ? 0 : poolStats.getIdleConnections();
+	}
+
+	// Threads blocked waiting for a connection
+	public int getWaitingThreads() {
+		return poolStats == null ? 0 : poolStats.getPendingThreads();
+	}
+
+	public int getTotalConnections() {
+		return poolStats == null ? 0 : poolStats.getTotalConnections();
+	}
+
+	public long getAcquireCount() {
+		return acquireCount.sum();
+	}
+
+	public double getAverageAcquireMillis() {
+		long count = acquireCount.sum();
+		return count == 0 ? 0 : acquireNanos.sum() / (double) count / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	public double getMaxAcquireMillis() {
+		return maxAcquireNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	public long getTimeouts() {
+		return timeouts.sum();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Pool [active=%d, idle=%d, waiting=%d, total=%d, acquires=%d, avgAcquire=%.3f ms, maxAcquire=%.3f ms, timeouts=%d]",
+				getActiveConnections(), getIdleConnections(), getWaitingThreads(), getTotalConnections(),
+				getAcquireCount(), getAverageAcquireMillis(), getMaxAcquireMillis(), getTimeouts());
+	}
+}
@@ -0,0 +1,72 @@
+package com.main;
+
+import java.util.function.Function;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+
+// Marks the current thread as read-only so RoutingDataSource hands out replica connections.
+// Only connections acquired inside the scope are routed: Hibernate acquires one when a transaction
+// begins (or on the first statement) and keeps it until the transaction ends, so open the scope
+// before begin() - call() below does exactly that on a fresh EntityManager.
+public final class ReadOnlyScope implements AutoCloseable {
+
+	private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+	private boolean closed;
+
+	private ReadOnlyScope() {
+		DEPTH.get()[0]++;
+	}
+
+	// try (ReadOnlyScope scope = ReadOnlyScope.open()) { ... } - scopes may nest
+	public static ReadOnlyScope open() {
+		return new ReadOnlyScope();
+	}
+
+	public static boolean isActive() {
+		return DEPTH.get()[0] > 0;
+	}
+
+	@Override
+	public void close() {
+		if (closed) return;
+		closed = true;
+		if (--DEPTH.get()[0] == 0) {
+			DEPTH.remove();
+		}
+	}
+
+	// 🔹 One read-only transaction on its own EntityManager: replica connection, and loaded
+	// entities are read-only (no snapshots, nothing dirty-checked on commit). The session reads
+	// the second-level cache but never puts into it (CacheMode.GET): a replica may lag behind the
+	// primary, and rows it returns must not overwrite fresher entries for the read-write sessions.
+	// Cache misses therefore stay misses until a primary read fills them.
+	public static <T> T call(EntityManagerFactory eFactory, Function<EntityManager, T> work) {
+		ReadOnlyScope scope = open();
+		try {
+			EntityManager eManager = eFactory.createEntityManager();
+			EntityTransaction transaction = eManager.getTransaction();
+			try {
+				Session session = eManager.unwrap(Session.class);
+				session.setDefaultReadOnly(true);
+				session.setCacheMode(CacheMode.GET);
+				transaction.begin();
+				T result = work.apply(eManager);
+				transaction.commit();
+				return result;
+			} catch (RuntimeException e) {
+				if (transaction.isActive()) transaction.rollback();
+				throw e;
+			} finally {
+				eManager.close();
+			}
+		} finally {
+			scope.close();
+		}
+	}
+}
@@ -0,0 +1,278 @@
+package com.main;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+// Read/write splitting: connections requested inside a ReadOnlyScope come from a replica pool,
+// everything else from the primary.
+//  - Balancing: ROUND_ROBIN or LEAST_ACTIVE (fewest borrowed connections) among usable replicas
+//  - Health check: every healthCheckMillis each replica is probed (and its lag read with lagQuery)
+//  - A replica that is down, lagging more than maxLagSeconds or fails to hand out a connection is
+//    skipped until the next successful check; with no usable replica, reads go to the primary
+public class RoutingDataSource implements DataSource, AutoCloseable {
+
+	public enum Balance { ROUND_ROBIN, LEAST_ACTIVE }
+
+	public enum State { UP, LAGGING, DOWN }
+
+	public static final class Replica {
+		private final String url;
+		private final HikariDataSource pool;
+		private final PoolMetrics metrics;
+		private final LongAdder reads = new LongAdder();
+		private volatile State state = State.DOWN; // Until the first check passes
+		private volatile long lagSeconds = -1;
+
+		public Replica(String url, HikariDataSource pool, PoolMetrics metrics) {
+			this.url = url;
+			this.pool = pool;
+			this.metrics = metrics;
+		}
+
+		public String getUrl() {
+			return url;
+		}
+
+		public State getState() {
+			return state;
+		}
+
+		public long getLagSeconds() {
+			return lagSeconds;
+		}
+
+		public long getReads() {
+			return reads.sum();
+		}
+
+		public PoolMetrics getMetrics() {
+			return metrics;
+		}
+
+		int activeConnections() {
+			HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+			return mxBean == null ? 0 : mxBean.getActiveConnections();
+		}
+	}
+
+	private final HikariDataSource primary;
+	private final List<Replica> replicas;
+	private final Balance balance;
+	private final String lagQuery;
+	private final long maxLagSeconds;
+
+	private volatile List<Replica> usable = Collections.emptyList();
+	private final AtomicInteger next = new AtomicInteger();
+	private final LongAdder writes = new LongAdder();
+	private final LongAdder fallbackReads = new LongAdder();
+	private final ScheduledExecutorService healthCheck;
+
+	// lagQuery may be null (no lag check); otherwise it returns one row with the lag in seconds,
+	// e.g. SHOW REPLICA STATUS (Seconds_Behind_Source) or a SELECT on a heartbeat table
+	public RoutingDataSource(HikariDataSource primary, List<Replica> replicas, Balance balance,
+			long healthCheckMillis, String lagQuery, long maxLagSeconds) {
+		this.primary = primary;
+		this.replicas = Collections.unmodifiableList(new ArrayList<>(replicas));
+		this.balance = balance;
+		this.lagQuery = lagQuery;
+		this.maxLagSeconds = maxLagSeconds;
+
+		checkReplicas(); // Usable replicas known before the first read
+		this.healthCheck = Executors.newSingleThreadScheduledExecutor(task -> {
+			Thread thread = new Thread(task, "replica-health-check");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.healthCheck.scheduleWithFixedDelay(this::checkReplicas, healthCheckMillis, healthCheckMillis, TimeUnit.MILLISECONDS);
+	}
+
+	// 🔹 Routing
+	@Override
+	public Connection getConnection() throws SQLException {
+		if (!ReadOnlyScope.isActive()) {
+			writes.increment();
+			return primary.getConnection();
+		}
+		for (int attempt = 0; attempt < replicas.size(); attempt++) {
+			Replica replica = choose();
+			if (replica == null) break;
+			try {
+				Connection connection = replica.pool.getConnection();
+				replica.reads.increment();
+				return connection;
+			} catch (SQLException e) {
+				markDown(replica, e.getMessage()); // Try the next one right away
+			}
+		}
+		fallbackReads.increment();
+		return primary.getConnection();
+	}
+
+	private Replica choose() {
+		List<Replica> candidates = usable;
+		if (candidates.isEmpty()) return null;
+		if (balance == Balance.LEAST_ACTIVE) {
+			return Collections.min(candidates, Comparator.comparingInt(Replica::activeConnections));
+		}
+		return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+	}
+
+	// 🔹 Health / lag checks
+	private void checkReplicas() {
+		for (Replica replica : replicas) {
+			try (Connection connection = replica.pool.getConnection()) {
+				if (!connection.isValid(2)) {
+					markDown(replica, "connection not valid");
+					continue;
+				}
+				Long lag = lagQuery == null ? Long.valueOf(0) : readLag(connection);
+				if (lag == null) {
+					markDown(replica, "replication not running");
+				} else {
+					replica.lagSeconds = lag;
+					transition(replica, lag > maxLagSeconds ? State.LAGGING : State.UP, "lag " + lag + " s");
+				}
+			} catch (SQLException e) {
+				markDown(replica, e.getMessage());
+			} catch (RuntimeException e) {
+				markDown(replica, e.toString()); // Never let the scheduled task die
+			}
+		}
+	}
+
+	private Long readLag(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement();
+				ResultSet rs = statement.executeQuery(lagQuery)) {
+			if (!rs.next()) return null; // Not configured as a replica
+			long lag = rs.getLong(lagColumn(rs));
+			return rs.wasNull() ? null : lag;
+		}
+	}
+
+	private static int lagColumn(ResultSet rs) {
+		for (String column : new String[] { "Seconds_Behind_Source", "Seconds_Behind_Master" }) {
+			try {
+				return rs.findColumn(column);
+			} catch (SQLException e) {
+				// Not SHOW REPLICA / SLAVE STATUS
+			}
+		}
+		return 1;
+	}
+
+	private void markDown(Replica replica, String reason) {
+		replica.lagSeconds = -1;
+		transition(replica, State.DOWN, reason);
+	}
+
+	private synchronized void transition(Replica replica, State state, String reason) {
+		State previous = replica.state;
+		replica.state = state;
+		if (previous != state) {
+			if (state == State.UP) {
+				System.out.println("✅ Replica " + replica.url + " is UP (" + reason + ")");
+			} else {
+				System.err.println("⚠ Replica " + replica.url + " is " + state + " (" + reason + "), reads skip it");
+			}
+		}
+		List<Replica> up = new ArrayList<>();
+		for (Replica candidate : replicas) {
+			if (candidate.state == State.UP) up.add(candidate);
+		}
+		usable = Collections.unmodifiableList(up);
+	}
+
+	// 🔹 Metrics
+	public List<Replica> getReplicas() {
+		return replicas;
+	}
+
+	public long getWrites() {
+		return writes.sum();
+	}
+
+	// Reads that went to the primary because no replica was usable
+	public long getFallbackReads() {
+		return fallbackReads.sum();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder report = new StringBuilder(String.format("Routing [balance=%s, primary connections=%d, fallback reads=%d]",
+			balance, getWrites(), getFallbackReads()));
+		for (Replica replica : replicas) {
+			report.append(String.format("%n  %-50s %-7s lag=%d s, reads=%d, %s",
+				replica.url, replica.state, replica.lagSeconds, replica.getReads(), replica.metrics));
+		}
+		return report.toString();
+	}
+
+	@Override
+	public void close() {
+		healthCheck.shutdownNow();
+		for (Replica replica : replicas) {
+			replica.pool.close();
+		}
+		primary.close();
+	}
+
+	// 🔹 Everything else is the primary's
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return primary.getConnection(username, password);
+	}
+
+	@Override
+	public PrintWriter getLogWriter() throws SQLException {
+		return primary.getLogWriter();
+	}
+
+	@Override
+	public void setLogWriter(PrintWriter out) throws SQLException {
+		primary.setLogWriter(out);
+	}
+
+	@Override
+	public void setLoginTimeout(int seconds) throws SQLException {
+		primary.setLoginTimeout(seconds);
+	}
+
+	@Override
+	public int getLoginTimeout() throws SQLException {
+		return primary.getLoginTimeout();
+	}
+
+	@Override
+	public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+		return primary.getParentLogger();
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		return iface.isInstance(this) ? iface.cast(this) : primary.unwrap(iface);
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance(this) || primary.isWrapperFor(iface);
+	}
+}
@@ -0,0 +1,62 @@
+package com.main;
+
+import java.util.function.BiConsumer;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+
+// BulkWriter on a regular EntityManager: flush + clear every hibernate.jdbc.batch_size entities
+public class StatefulBulkWriter<T> implements BulkWriter<T> {
+
+	private final EntityManager eManager;
+	private final int batchSize;
+
+	public StatefulBulkWriter(EntityManagerFactory eFactory) {
+		this.eManager = eFactory.createEntityManager();
+		Object value = eFactory.getProperties().get("hibernate.jdbc.batch_size");
+		this.batchSize = value == null ? 50 : Integer.parseInt(value.toString());
+	}
+
+	@Override
+	public long insert(Iterable<? extends T> entities) {
+		return inBatches(entities, EntityManager::persist);
+	}
+
+	@Override
+	public long update(Iterable<? extends T> entities) {
+		return inBatches(entities, EntityManager::merge);
+	}
+
+	@Override
+	public long delete(Iterable<? extends T> entities) {
+		return inBatches(entities, (em, entity) -> em.remove(em.contains(entity) ? entity : em.merge(entity)));
+	}
+
+	private long inBatches(Iterable<? extends T> entities, BiConsumer<EntityManager, T> operation) {
+		long count = 0;
+		EntityTransaction transaction = eManager.getTransaction();
+		transaction.begin();
+		try {
+			for (T entity : entities) {
+				operation.accept(eManager, entity);
+				if (++count % batchSize == 0) {
+					eManager.flush();
+					eManager.clear();
+				}
+			}
+			transaction.commit();
+		} catch (RuntimeException e) {
+			if (transaction.isActive()) transaction.rollback();
+			throw e;
+		} finally {
+			eManager.clear();
+		}
+		return count;
+	}
+
+	@Override
+	public void close() {
+		if (eManager.isOpen()) eManager.close();
+	}
+}
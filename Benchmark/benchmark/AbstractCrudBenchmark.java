@@ -0,0 +1,145 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import javax.persistence.Persistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// The same five operations for every CRUD style of the repo.
+// Subclasses only say HOW each operation is written (orm.xml entity, annotations, JPQL, native SQL).
+// Throughput + SampleTime give ops/ms and latency percentiles; run with -prof gc for allocation rate.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public abstract class AbstractCrudBenchmark {
+
+    protected static final int ROWS = 10_000;
+    protected static final int RANGE = 100;
+
+    protected EntityManagerFactory eFactory;
+    protected EntityManager eManager;
+    private int nextId;
+
+    // 🔹 What each approach has to provide
+    protected abstract String tableName();
+    protected abstract Object newRow(int id);
+    protected abstract Object findRow(int id);
+    protected abstract List<?> scanRange(int from, int to);
+    protected abstract int updateRange(int from, int to);
+    protected abstract int deleteRange(int from, int to);
+
+    // persist() by default; the native SQL approach overrides it
+    protected void insertRow(Object row) {
+        eManager.persist(row);
+    }
+
+    @Setup(Level.Trial)
+    public void open() {
+        eFactory = Persistence.createEntityManagerFactory("benchmark");
+        eManager = eFactory.createEntityManager();
+    }
+
+    // Fresh table of ROWS rows before every iteration
+    @Setup(Level.Iteration)
+    public void seed() {
+        inTransaction(() -> {
+            eManager.createNativeQuery("DELETE FROM " + tableName()).executeUpdate();
+            for (int id = 1; id <= ROWS; id++) {
+                eManager.persist(newRow(id));
+                if (id % 50 == 0) {
+                    eManager.flush();
+                    eManager.clear();
+                }
+            }
+        });
+        eManager.clear();
+        nextId = ROWS + 1;
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        if (eManager != null && eManager.isOpen()) eManager.close();
+        if (eFactory != null && eFactory.isOpen()) eFactory.close();
+    }
+
+    @Benchmark
+    public Object insert() {
+        Object row = newRow(nextId++);
+        inTransaction(() -> insertRow(row));
+        eManager.clear();
+        return row;
+    }
+
+    @Benchmark
+    public Object findById() {
+        Object row = findRow(randomId(1));
+        eManager.clear(); // Next lookup must hit the database again
+        return row;
+    }
+
+    @Benchmark
+    public List<?> rangeScan() {
+        int from = randomId(RANGE);
+        List<?> rows = scanRange(from, from + RANGE - 1);
+        eManager.clear();
+        return rows;
+    }
+
+    @Benchmark
+    public int bulkUpdate() {
+        int from = randomId(RANGE);
+        int[] rows = new int[1];
+        inTransaction(() -> rows[0] = updateRange(from, from + RANGE - 1));
+        return rows[0];
+    }
+
+    // Rolled back so every invocation deletes real rows without reseeding the table
+    @Benchmark
+    public int bulkDelete() {
+        int from = randomId(RANGE);
+        EntityTransaction transaction = eManager.getTransaction();
+        transaction.begin();
+        try {
+            return deleteRange(from, from + RANGE - 1);
+        } finally {
+            transaction.rollback();
+        }
+    }
+
+    protected void inTransaction(Runnable work) {
+        EntityTransaction transaction = eManager.getTransaction();
+        transaction.begin();
+        try {
+            work.run();
+            transaction.commit();
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) transaction.rollback();
+            throw e;
+        }
+    }
+
+    // Random start id such that [id, id + span) lies inside the seeded rows
+    private static int randomId(int span) {
+        return ThreadLocalRandom.current().nextInt(1, ROWS - span + 2);
+    }
+}
@@ -0,0 +1,74 @@
+package benchmark;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+// Annotations only (like "Annotation Configuration")
+@Entity
+@Table(name="bench_annotated_employee")
+public class AnnotatedEmployee {
+	
+	@Id
+	@Column(name="Emp_ID")
+	private int id;
+	
+	@Column(name="Emp_Name", length=15, nullable=false, unique=true)
+	private String name;
+	
+	// Default Column name = city, post, mobileNo.
+	private String city;
+	private String post;
+	private long mobileNo;
+	
+	public AnnotatedEmployee() {
+		super();
+	}
+	
+	public AnnotatedEmployee(int id, String name, String city, String post, long mobileNo) {
+		super();
+		this.id = id;
+		this.name = name;
+		this.city = city;
+		this.post = post;
+		this.mobileNo = mobileNo;
+	}
+	
+	public int getId() {
+		return id;
+	}
+	public void setId(int id) {
+		this.id = id;
+	}
+	public String getName() {
+		return name;
+	}
+	public void setName(String name) {
+		this.name = name;
+	}
+	public String getCity() {
+		return city;
+	}
+	public void setCity(String city) {
+		this.city = city;
+	}
+	public String getPost() {
+		return post;
+	}
+	public void setPost(String post) {
+		this.post = post;
+	}
+	public long getMobileNo() {
+		return mobileNo;
+	}
+	public void setMobileNo(long mobileNo) {
+		this.mobileNo = mobileNo;
+	}
+	
+	@Override
+	public String toString() {
+		return "AnnotatedEmployee [id=" + id + ", name=" + name + ", city=" + city + ", post=" + post + ", mobileNo=" + mobileNo
+				+ "]";
+	}
+}
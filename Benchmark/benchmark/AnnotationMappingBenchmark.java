@@ -0,0 +1,47 @@
+package benchmark;
+
+import java.util.List;
+
+// Entity-based CRUD with the mapping defined by @Entity annotations only ("Annotation Configuration")
+public class AnnotationMappingBenchmark extends AbstractCrudBenchmark {
+
+    @Override
+    protected String tableName() {
+        return "bench_annotated_employee";
+    }
+
+    @Override
+    protected Object newRow(int id) {
+        return new AnnotatedEmployee(id, "Employee-" + id, "City-" + id % 50, "Post-" + id % 10, 9_000_000_000L + id);
+    }
+
+    @Override
+    protected Object findRow(int id) {
+        return eManager.find(AnnotatedEmployee.class, id);
+    }
+
+    @Override
+    protected List<?> scanRange(int from, int to) {
+        return eManager.createQuery("SELECT e FROM AnnotatedEmployee e WHERE e.id BETWEEN :from AND :to", AnnotatedEmployee.class)
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .getResultList();
+    }
+
+    @Override
+    protected int updateRange(int from, int to) {
+        return eManager.createQuery("UPDATE AnnotatedEmployee e SET e.post = :post WHERE e.id BETWEEN :from AND :to")
+            .setParameter("post", "HR")
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .executeUpdate();
+    }
+
+    @Override
+    protected int deleteRange(int from, int to) {
+        return eManager.createQuery("DELETE FROM AnnotatedEmployee e WHERE e.id BETWEEN :from AND :to")
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .executeUpdate();
+    }
+}
@@ -0,0 +1,47 @@
+package benchmark;
+
+import java.util.List;
+
+// Entity-based CRUD with the mapping defined by annotations + orm.xml override ("Annotation + XML Combined Mapping Approach")
+public class CombinedMappingBenchmark extends AbstractCrudBenchmark {
+
+    @Override
+    protected String tableName() {
+        return "bench_combined_employee";
+    }
+
+    @Override
+    protected Object newRow(int id) {
+        return new CombinedEmployee(id, "Employee-" + id, "City-" + id % 50, "Post-" + id % 10, 9_000_000_000L + id);
+    }
+
+    @Override
+    protected Object findRow(int id) {
+        return eManager.find(CombinedEmployee.class, id);
+    }
+
+    @Override
+    protected List<?> scanRange(int from, int to) {
+        return eManager.createQuery("SELECT e FROM CombinedEmployee e WHERE e.id BETWEEN :from AND :to", CombinedEmployee.class)
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .getResultList();
+    }
+
+    @Override
+    protected int updateRange(int from, int to) {
+        return eManager.createQuery("UPDATE CombinedEmployee e SET e.post = :post WHERE e.id BETWEEN :from AND :to")
+            .setParameter("post", "HR")
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .executeUpdate();
+    }
+
+    @Override
+    protected int deleteRange(int from, int to) {
+        return eManager.createQuery("DELETE FROM CombinedEmployee e WHERE e.id BETWEEN :from AND :to")
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .executeUpdate();
+    }
+}
@@ -0,0 +1,57 @@
+package benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+import org.hibernate.bytecode.enhance.spi.DefaultEnhancementContext;
+import org.hibernate.bytecode.enhance.spi.Enhancer;
+import org.hibernate.bytecode.internal.bytebuddy.BytecodeProviderImpl;
+
+// Child-first class loader that runs Hibernate's bytecode enhancer (the same one the
+// hibernate-enhance-maven-plugin uses at build time) over the given entity classes.
+// Everything else, including interfaces such as FlushSubject, comes from the parent.
+public class EnhancingClassLoader extends ClassLoader {
+
+    private final Set<String> entityClassNames;
+    private final Enhancer enhancer;
+
+    public EnhancingClassLoader(ClassLoader parent, Set<String> entityClassNames) {
+        super(parent);
+        this.entityClassNames = entityClassNames;
+        this.enhancer = new BytecodeProviderImpl()
+            .getEnhancer(new DefaultEnhancementContext() {
+                @Override
+                public ClassLoader getLoadingClassLoader() {
+                    return parent;
+                }
+            });
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (!entityClassNames.contains(name)) {
+            return super.loadClass(name, resolve);
+        }
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> loaded = findLoadedClass(name);
+            if (loaded == null) {
+                byte[] original = readClass(name);
+                byte[] enhanced = enhancer.enhance(name, original);
+                byte[] bytes = enhanced != null ? enhanced : original;
+                loaded = defineClass(name, bytes, 0, bytes.length);
+            }
+            if (resolve) resolveClass(loaded);
+            return loaded;
+        }
+    }
+
+    private byte[] readClass(String name) throws ClassNotFoundException {
+        try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+            if (in == null) throw new ClassNotFoundException(name);
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new ClassNotFoundException(name, e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package benchmark;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.hibernate.engine.spi.ManagedEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Cost of flush() with many managed entities, plain vs bytecode-enhanced FlushEmployee.
+// Plain entities are diffed field by field against their load-time snapshot on every flush;
+// enhanced ones track their own dirty fields, so clean entities are skipped almost for free.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dnet.bytebuddy.experimental=true") // Byte Buddy of Hibernate 5.6 predates Java 21 class files
+public class FlushCostBenchmark {
+
+    private static final int DIRTY = 10;
+
+    @Param({"false", "true"})
+    public boolean enhanced;
+
+    @Param({"1000", "10000"})
+    public int managed;
+
+    private EntityManagerFactory eFactory;
+    private EntityManager eManager;
+    private List<FlushSubject> employees;
+
+    @Setup(Level.Trial)
+    public void open() throws ClassNotFoundException {
+        ClassLoader loader = enhanced
+            ? new EnhancingClassLoader(getClass().getClassLoader(), Set.of("benchmark.FlushEmployee"))
+            : getClass().getClassLoader();
+        // Hibernate silently falls back to the plain class if loading through our loader fails
+        if (enhanced != ManagedEntity.class.isAssignableFrom(loader.loadClass("benchmark.FlushEmployee"))) {
+            throw new IllegalStateException("FlushEmployee is not loaded as expected (enhanced=" + enhanced + ")");
+        }
+        eFactory = Persistence.createEntityManagerFactory("flush",
+            Map.of("hibernate.classLoaders", Collections.singletonList(loader)));
+
+        EntityManager seeder = eFactory.createEntityManager();
+        seeder.getTransaction().begin();
+        seeder.createNativeQuery("INSERT INTO bench_flush_employee (id, name, city, post, mobileNo, department, salary, notes)"
+                + " SELECT X, 'Emp-' || X, 'City', 'Developer', 9000000000 + X, 'R&D', 50000, REPEAT('x', 4000)"
+                + " FROM SYSTEM_RANGE(1, " + managed + ")")
+            .executeUpdate();
+        seeder.getTransaction().commit();
+        seeder.close();
+    }
+
+    // All rows managed in one open transaction for the whole iteration
+    @SuppressWarnings("unchecked")
+    @Setup(Level.Iteration)
+    public void load() {
+        eManager = eFactory.createEntityManager();
+        eManager.getTransaction().begin();
+        employees = eManager.createQuery("SELECT e FROM FlushEmployee e").getResultList();
+    }
+
+    @TearDown(Level.Iteration)
+    public void rollback() {
+        eManager.getTransaction().rollback();
+        eManager.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        eFactory.close();
+    }
+
+    // Pure dirty-checking cost: nothing to write
+    @Benchmark
+    public void flushClean() {
+        eManager.flush();
+    }
+
+    // DIRTY updated entities among the managed ones
+    @Benchmark
+    public void flushFewDirty() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < DIRTY; i++) {
+            employees.get(random.nextInt(employees.size())).setCity("City-" + random.nextInt(1_000));
+        }
+        eManager.flush();
+    }
+}
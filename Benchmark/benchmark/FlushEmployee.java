@@ -0,0 +1,51 @@
+package benchmark;
+
+import javax.persistence.Basic;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+
+// Employee-like entity for FlushCostBenchmark (unit "flush"), enhanced or not at runtime
+@Entity
+@Table(name="bench_flush_employee")
+public class FlushEmployee implements FlushSubject {
+	
+	@Id
+	private int id;
+	
+	@Column(length=25)
+	private String name;
+	private String city;
+	private String post;
+	private long mobileNo;
+	private String department;
+	private int salary;
+	
+	@Lob
+	@Basic(fetch = FetchType.LAZY) // Only lazy when enhanced
+	private String notes;
+	
+	public FlushEmployee() {
+		super();
+	}
+	
+	public int getId() {
+		return id;
+	}
+	
+	public String getCity() {
+		return city;
+	}
+	
+	@Override
+	public void setCity(String city) {
+		this.city = city;
+	}
+	
+	public String getNotes() {
+		return notes;
+	}
+}
@@ -0,0 +1,8 @@
+package benchmark;
+
+// What FlushCostBenchmark needs from FlushEmployee. Lets the benchmark use the class both
+// as compiled and as enhanced by EnhancingClassLoader (a different Class at runtime).
+public interface FlushSubject {
+
+    void setCity(String city);
+}
@@ -0,0 +1,100 @@
+package benchmark;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Id allocation under contention: THREADS threads share one generator (one per entity, per JVM).
+//  - nextId → the generator alone
+//  - insert → BATCH rows per transaction through a StatelessSession, JDBC batched
+// Compare with -t 1 to see how much of the cost is contention rather than the round trip itself.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(IdAllocationBenchmark.THREADS)
+@Fork(1)
+public class IdAllocationBenchmark {
+
+    static final int THREADS = 8;
+    private static final int BATCH = 50;
+
+    @Param({"UnpooledSequenceItem", "PooledSequenceItem", "PooledTableItem"})
+    public String entity;
+
+    private EntityManagerFactory eFactory;
+    private IdentifierGenerator generator;
+    private Constructor<?> newItem;
+
+    @Setup(Level.Trial)
+    public void open() throws ReflectiveOperationException {
+        eFactory = Persistence.createEntityManagerFactory("benchmark");
+        Class<?> entityClass = Class.forName("benchmark." + entity);
+        newItem = entityClass.getConstructor(String.class);
+        generator = eFactory.unwrap(SessionFactoryImplementor.class).getMetamodel()
+            .entityPersister(entityClass).getIdentifierGenerator();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        eFactory.close();
+    }
+
+    // One StatelessSession (and JDBC connection) per benchmark thread
+    @State(Scope.Thread)
+    public static class ThreadSession {
+        StatelessSession session;
+
+        @Setup(Level.Trial)
+        public void open(IdAllocationBenchmark benchmark) {
+            session = benchmark.eFactory.unwrap(SessionFactory.class).openStatelessSession();
+            session.setJdbcBatchSize(BATCH);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            session.close();
+        }
+    }
+
+    @Benchmark
+    public Object nextId(ThreadSession state) {
+        return generator.generate((SharedSessionContractImplementor) state.session, null);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int insert(ThreadSession state) throws ReflectiveOperationException {
+        Transaction transaction = state.session.beginTransaction();
+        for (int i = 0; i < BATCH; i++) {
+            state.session.insert(newItem.newInstance("Item-" + i));
+        }
+        transaction.commit();
+        return BATCH;
+    }
+}
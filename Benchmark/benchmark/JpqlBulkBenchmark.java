@@ -0,0 +1,47 @@
+package benchmark;
+
+import java.util.List;
+
+// Product CRUD through persist()/find() and the @NamedQuery JPQL statements ("Bulk Operation/JPQL")
+public class JpqlBulkBenchmark extends AbstractCrudBenchmark {
+
+    @Override
+    protected String tableName() {
+        return "bench_product";
+    }
+
+    @Override
+    protected Object newRow(int id) {
+        return new Product(id, "Product-" + id, "2023-01-01", id % 500);
+    }
+
+    @Override
+    protected Object findRow(int id) {
+        return eManager.find(Product.class, id);
+    }
+
+    @Override
+    protected List<?> scanRange(int from, int to) {
+        return eManager.createNamedQuery("Product.findByIdRange", Product.class)
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .getResultList();
+    }
+
+    @Override
+    protected int updateRange(int from, int to) {
+        return eManager.createNamedQuery("Product.updatePriceByIdRange")
+            .setParameter("price", 100)
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .executeUpdate();
+    }
+
+    @Override
+    protected int deleteRange(int from, int to) {
+        return eManager.createNamedQuery("Product.deleteByIdRange")
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .executeUpdate();
+    }
+}
@@ -0,0 +1,123 @@
+package benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import javax.persistence.LockModeType;
+import javax.persistence.Persistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Concurrent read-modify-write (price + 1) by THREADS threads on hotRows rows:
+//  - optimistic  → @Version check on commit, OptimisticRetryExecutor re-runs the loser with jittered backoff
+//  - pessimistic → find(..., PESSIMISTIC_WRITE) = SELECT ... FOR UPDATE, the row stays locked until commit
+// hotRows = 1 is the worst case (every thread on one row); with more rows conflicts get rare and the
+// optimistic path no longer pays for the lock. After each trial the contention metrics are printed and
+// the sum of prices is checked against the committed increments: neither mode may lose an update.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(LockingBenchmark.THREADS)
+@Fork(1)
+public class LockingBenchmark {
+
+    static final int THREADS = 8;
+
+    @Param({"optimistic", "pessimistic"})
+    public String mode;
+
+    @Param({"1", "16", "1024"})
+    public int hotRows;
+
+    private EntityManagerFactory eFactory;
+    private OptimisticRetryExecutor retry;
+    private final LongAdder increments = new LongAdder();
+    private final LongAdder lockWaitNanos = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void open() {
+        eFactory = Persistence.createEntityManagerFactory("benchmark");
+        retry = new OptimisticRetryExecutor(eFactory, 50, 1, 20); // Enough attempts for 8 writers on one row
+
+        EntityManager eManager = eFactory.createEntityManager();
+        eManager.getTransaction().begin();
+        eManager.createQuery("DELETE FROM VersionedProduct").executeUpdate();
+        for (int id = 1; id <= hotRows; id++) {
+            eManager.persist(new VersionedProduct(id, 0));
+        }
+        eManager.getTransaction().commit();
+        eManager.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        EntityManager eManager = eFactory.createEntityManager();
+        long total = eManager.createQuery("SELECT COALESCE(SUM(p.price), 0) FROM VersionedProduct p", Long.class)
+            .getSingleResult();
+        eManager.close();
+        eFactory.close();
+
+        System.out.println();
+        if ("optimistic".equals(mode)) {
+            System.out.println(retry);
+        } else {
+            System.out.printf("Pessimistic [transactions=%d, avgLockWait=%.3f ms]%n", increments.sum(),
+                increments.sum() == 0 ? 0 : lockWaitNanos.sum() / (double) increments.sum() / 1_000_000);
+        }
+        if (total != increments.sum()) {
+            throw new IllegalStateException("Lost updates: " + increments.sum() + " increments, price sum " + total);
+        }
+    }
+
+    @Benchmark
+    public void increment() {
+        int id = 1 + ThreadLocalRandom.current().nextInt(hotRows);
+        if ("optimistic".equals(mode)) {
+            retry.execute(em -> {
+                VersionedProduct product = em.find(VersionedProduct.class, id);
+                product.setPrice(product.getPrice() + 1);
+                return null;
+            });
+        } else {
+            pessimistic(id);
+        }
+        increments.increment();
+    }
+
+    private void pessimistic(int id) {
+        EntityManager eManager = eFactory.createEntityManager();
+        EntityTransaction transaction = eManager.getTransaction();
+        try {
+            transaction.begin();
+            long start = System.nanoTime();
+            VersionedProduct product = eManager.find(VersionedProduct.class, id, LockModeType.PESSIMISTIC_WRITE);
+            lockWaitNanos.add(System.nanoTime() - start);
+            product.setPrice(product.getPrice() + 1);
+            transaction.commit();
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) transaction.rollback();
+            throw e;
+        } finally {
+            eManager.close();
+        }
+    }
+}
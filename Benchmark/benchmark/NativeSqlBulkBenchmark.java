@@ -0,0 +1,61 @@
+package benchmark;
+
+import java.util.List;
+
+// Product CRUD written entirely in native SQL ("Bulk Operation/Native SQL")
+public class NativeSqlBulkBenchmark extends AbstractCrudBenchmark {
+
+    @Override
+    protected String tableName() {
+        return "bench_product";
+    }
+
+    @Override
+    protected Object newRow(int id) {
+        return new Product(id, "Product-" + id, "2023-01-01", id % 500);
+    }
+
+    // Rows are still seeded with persist(); only the measured insert() goes through native SQL
+    @Override
+    protected void insertRow(Object row) {
+        Product product = (Product) row;
+        eManager
+            .createNativeQuery("INSERT INTO bench_product (Product_id, name, manufacturingDate, price) VALUES (?, ?, ?, ?)")
+            .setParameter(1, product.getId())
+            .setParameter(2, product.getName())
+            .setParameter(3, product.getManufacturingDate())
+            .setParameter(4, product.getPrice())
+            .executeUpdate();
+    }
+
+    @Override
+    protected Object findRow(int id) {
+        return eManager.createNativeQuery("SELECT * FROM bench_product WHERE Product_id = ?", Product.class)
+            .setParameter(1, id)
+            .getSingleResult();
+    }
+
+    @Override
+    protected List<?> scanRange(int from, int to) {
+        return eManager.createNativeQuery("SELECT * FROM bench_product WHERE Product_id BETWEEN ? AND ?", Product.class)
+            .setParameter(1, from)
+            .setParameter(2, to)
+            .getResultList();
+    }
+
+    @Override
+    protected int updateRange(int from, int to) {
+        return eManager.createNativeQuery("UPDATE bench_product SET price = 100 WHERE Product_id BETWEEN ? AND ?")
+            .setParameter(1, from)
+            .setParameter(2, to)
+            .executeUpdate();
+    }
+
+    @Override
+    protected int deleteRange(int from, int to) {
+        return eManager.createNativeQuery("DELETE FROM bench_product WHERE Product_id BETWEEN ? AND ?")
+            .setParameter(1, from)
+            .setParameter(2, to)
+            .executeUpdate();
+    }
+}
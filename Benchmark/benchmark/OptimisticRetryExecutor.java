@@ -0,0 +1,146 @@
+package benchmark;
+
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import javax.persistence.OptimisticLockException;
+
+import org.hibernate.StaleStateException;
+
+// Runs read-modify-write transactions against @Version entities and retries them on conflict.
+// Every attempt gets a fresh EntityManager and transaction, so the work function re-reads the
+// current row (and its version) and re-applies its change; it must not keep entities of an
+// earlier attempt. Between attempts: full-jitter exponential backoff, a random pause in
+// [0, min(maxBackoff, baseBackoff * 2^(attempt - 1))], so colliding writers spread out.
+// Retried: OptimisticLockException / StaleStateException anywhere in the cause chain, and
+// SQLState 40001 (serialization failure / deadlock victim). Anything else fails immediately.
+public class OptimisticRetryExecutor {
+
+    private final EntityManagerFactory eFactory;
+    private final int maxAttempts;
+    private final long baseBackoffNanos;
+    private final long maxBackoffNanos;
+
+    // Contention metrics (cumulative)
+    private final LongAdder transactions = new LongAdder();
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+    private final LongAdder backoffNanos = new LongAdder();
+    private final LongAccumulator maxAttemptsUsed = new LongAccumulator(Math::max, 0);
+
+    public OptimisticRetryExecutor(EntityManagerFactory eFactory) {
+        this(eFactory, 5, 5, 200);
+    }
+
+    public OptimisticRetryExecutor(EntityManagerFactory eFactory, int maxAttempts, long baseBackoffMillis, long maxBackoffMillis) {
+        if (maxAttempts < 1 || baseBackoffMillis < 0 || maxBackoffMillis < baseBackoffMillis) {
+            throw new IllegalArgumentException("maxAttempts must be >= 1 and 0 <= baseBackoffMillis <= maxBackoffMillis");
+        }
+        this.eFactory = eFactory;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffNanos = TimeUnit.MILLISECONDS.toNanos(baseBackoffMillis);
+        this.maxBackoffNanos = TimeUnit.MILLISECONDS.toNanos(maxBackoffMillis);
+    }
+
+    // The result of the committed attempt; throws the last conflict when every attempt lost
+    public <T> T execute(Function<EntityManager, T> work) {
+        transactions.increment();
+        for (int attempt = 1; ; attempt++) {
+            attempts.increment();
+            EntityManager eManager = eFactory.createEntityManager();
+            EntityTransaction transaction = eManager.getTransaction();
+            try {
+                transaction.begin();
+                T result = work.apply(eManager);
+                transaction.commit(); // The versioned UPDATE runs here: "... WHERE id = ? AND version = ?"
+                maxAttemptsUsed.accumulate(attempt);
+                return result;
+            } catch (RuntimeException e) {
+                if (transaction.isActive()) transaction.rollback();
+                if (!isConflict(e)) throw e;
+                conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    maxAttemptsUsed.accumulate(attempt);
+                    throw e;
+                }
+            } finally {
+                eManager.close();
+            }
+            backoff(attempt);
+        }
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffNanos, baseBackoffNanos << Math.min(attempt - 1, 20));
+        if (ceiling <= 0) return;
+        long pause = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        backoffNanos.add(pause);
+        try {
+            TimeUnit.NANOSECONDS.sleep(pause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off", e);
+        }
+    }
+
+    static boolean isConflict(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockException || cause instanceof StaleStateException) return true;
+            if (cause instanceof SQLException && "40001".equals(((SQLException) cause).getSQLState())) return true;
+        }
+        return false;
+    }
+
+    public long getTransactions() {
+        return transactions.sum();
+    }
+
+    public long getAttempts() {
+        return attempts.sum();
+    }
+
+    public long getConflicts() {
+        return conflicts.sum();
+    }
+
+    // Transactions that still conflicted on their last attempt
+    public long getExhausted() {
+        return exhausted.sum();
+    }
+
+    // Share of attempts that ended in a conflict
+    public double getConflictRate() {
+        long count = attempts.sum();
+        return count == 0 ? 0 : conflicts.sum() / (double) count;
+    }
+
+    public double getAttemptsPerTransaction() {
+        long count = transactions.sum();
+        return count == 0 ? 0 : attempts.sum() / (double) count;
+    }
+
+    public long getMaxAttemptsUsed() {
+        return maxAttemptsUsed.get();
+    }
+
+    public double getBackoffMillis() {
+        return backoffNanos.sum() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OptimisticRetry [transactions=%d, attempts=%d, conflicts=%d (%.1f%%), exhausted=%d, "
+                + "attempts/tx=%.2f, maxAttempts=%d, backoff=%.1f ms]",
+                getTransactions(), getAttempts(), getConflicts(), 100 * getConflictRate(), getExhausted(),
+                getAttemptsPerTransaction(), getMaxAttemptsUsed(), getBackoffMillis());
+    }
+}
@@ -0,0 +1,38 @@
+package benchmark;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+// Sequence + pooled-lo: one sequence call per 50 ids (as used by the example entities)
+@Entity
+@Table(name="bench_pooled_sequence_item")
+public class PooledSequenceItem {
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pooled_seq")
+	@SequenceGenerator(name = "pooled_seq", sequenceName = "bench_pooled_seq", allocationSize = 50)
+	private long id;
+	
+	private String name;
+	
+	public PooledSequenceItem() {
+		super();
+	}
+	
+	public PooledSequenceItem(String name) {
+		super();
+		this.name = name;
+	}
+	
+	public long getId() {
+		return id;
+	}
+	
+	public String getName() {
+		return name;
+	}
+}
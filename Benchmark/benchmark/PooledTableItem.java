@@ -0,0 +1,38 @@
+package benchmark;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+
+// Table + pooled-lo: what the sequence generator falls back to on MySQL (row lock per block of 50)
+@Entity
+@Table(name="bench_pooled_table_item")
+public class PooledTableItem {
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "pooled_table")
+	@TableGenerator(name = "pooled_table", table = "bench_id_blocks", pkColumnValue = "pooled_table_item", allocationSize = 50)
+	private long id;
+	
+	private String name;
+	
+	public PooledTableItem() {
+		super();
+	}
+	
+	public PooledTableItem(String name) {
+		super();
+		this.name = name;
+	}
+	
+	public long getId() {
+		return id;
+	}
+	
+	public String getName() {
+		return name;
+	}
+}
@@ -0,0 +1,96 @@
+package benchmark;
+
+import javax.persistence.Column;
+import javax.persistence.ColumnResult;
+import javax.persistence.ConstructorResult;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.NamedQuery;
+import javax.persistence.SqlResultSetMapping;
+import javax.persistence.Table;
+
+// Product entity used by the JPQL and Native SQL bulk benchmarks
+@Entity
+@Table(name = "bench_product",
+       indexes = @Index(name = "idx_bench_product_price_id", columnList = "price, Product_id"))
+@SqlResultSetMapping( // Native rows → ProductSummary (no entity hydration)
+ name = "ProductSummary",
+ classes = @ConstructorResult(targetClass = ProductSummary.class, columns = {
+  @ColumnResult(name = "Product_id", type = Integer.class),
+  @ColumnResult(name = "name", type = String.class),
+  @ColumnResult(name = "price", type = Integer.class)})
+)
+@NamedQuery(
+ name = "Product.findByIdRange",
+ query = "SELECT p FROM Product p WHERE p.id BETWEEN :from AND :to"
+)
+@NamedQuery(
+ name = "Product.updatePriceByIdRange",
+ query = "UPDATE Product p SET p.price = :price WHERE p.id BETWEEN :from AND :to"
+)
+@NamedQuery(
+ name = "Product.deleteByIdRange",
+ query = "DELETE FROM Product p WHERE p.id BETWEEN :from AND :to"
+)
+public class Product {
+		
+	@Id
+	@Column(name="Product_id") //Optional
+	private int id;
+	@Column(length=25)
+	private String name;
+	private String manufacturingDate;
+	private int price;
+		
+	public Product() {
+		super();
+	}
+
+	public Product(int id, String name, String manufacturingDate, int price) {
+		super();
+		this.id = id;
+		this.name = name;
+		this.manufacturingDate = manufacturingDate;
+		this.price = price;
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public void setId(int id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public String getManufacturingDate() {
+		return manufacturingDate;
+	}
+
+	public void setManufacturingDate(String manufacturingDate) {
+		this.manufacturingDate = manufacturingDate;
+	}
+
+	public int getPrice() {
+		return price;
+	}
+
+	public void setPrice(int price) {
+		this.price = price;
+	}
+
+	@Override
+	public String toString() {
+		return "Product [id=" + id + ", name=" + name + ", manufacturingDate=" + manufacturingDate + ", price="
+				+ price + "]";
+	}
+
+}
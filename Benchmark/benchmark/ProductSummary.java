@@ -0,0 +1,6 @@
+package benchmark;
+
+// Read-only Product projection: built straight from the result set (JPQL constructor
+// expression or native @ConstructorResult), never managed by the persistence context.
+public record ProductSummary(int id, String name, int price) {
+}
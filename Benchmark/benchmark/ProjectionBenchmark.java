@@ -0,0 +1,113 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import javax.persistence.Persistence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Reading RANGE rows as managed Product entities vs the ProductSummary record
+// (JPQL constructor expression / native @ConstructorResult) vs raw Object[] rows.
+// Run with -prof gc and compare gc.alloc.rate.norm (bytes per operation).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int RANGE = 1_000;
+
+    private EntityManagerFactory eFactory;
+    private EntityManager eManager;
+
+    @Setup
+    public void open() {
+        eFactory = Persistence.createEntityManagerFactory("benchmark");
+        eManager = eFactory.createEntityManager();
+
+        EntityTransaction transaction = eManager.getTransaction();
+        transaction.begin();
+        eManager.createNativeQuery("DELETE FROM bench_product").executeUpdate();
+        for (int id = 1; id <= ROWS; id++) {
+            eManager.persist(new Product(id, "Product-" + id, "2023-01-01", id % 500));
+            if (id % 50 == 0) {
+                eManager.flush();
+                eManager.clear();
+            }
+        }
+        transaction.commit();
+        eManager.clear();
+    }
+
+    @TearDown
+    public void close() {
+        eManager.close();
+        eFactory.close();
+    }
+
+    // Managed entities: entity instance + snapshot + EntityEntry per row
+    @Benchmark
+    public List<Product> entities() {
+        int from = randomFrom();
+        List<Product> rows = eManager.createNamedQuery("Product.findByIdRange", Product.class)
+            .setParameter("from", from)
+            .setParameter("to", from + RANGE - 1)
+            .getResultList();
+        eManager.clear();
+        return rows;
+    }
+
+    @Benchmark
+    public List<ProductSummary> jpqlProjection() {
+        int from = randomFrom();
+        return eManager.createQuery("SELECT new benchmark.ProductSummary(p.id, p.name, p.price) FROM Product p"
+                + " WHERE p.id BETWEEN :from AND :to", ProductSummary.class)
+            .setParameter("from", from)
+            .setParameter("to", from + RANGE - 1)
+            .getResultList();
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<ProductSummary> nativeProjection() {
+        int from = randomFrom();
+        return eManager.createNativeQuery("SELECT Product_id, name, price FROM bench_product"
+                + " WHERE Product_id BETWEEN ? AND ?", "ProductSummary")
+            .setParameter(1, from)
+            .setParameter(2, from + RANGE - 1)
+            .getResultList();
+    }
+
+    // What the examples did before: untyped rows, boxed values
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<Object[]> objectArrays() {
+        int from = randomFrom();
+        return eManager.createQuery("SELECT p.id, p.name, p.price FROM Product p WHERE p.id BETWEEN :from AND :to")
+            .setParameter("from", from)
+            .setParameter("to", from + RANGE - 1)
+            .getResultList();
+    }
+
+    private static int randomFrom() {
+        return ThreadLocalRandom.current().nextInt(1, ROWS - RANGE + 2);
+    }
+}
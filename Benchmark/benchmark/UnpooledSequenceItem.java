@@ -0,0 +1,38 @@
+package benchmark;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+// Sequence without an optimizer: one sequence call per id
+@Entity
+@Table(name="bench_unpooled_sequence_item")
+public class UnpooledSequenceItem {
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "unpooled_seq")
+	@SequenceGenerator(name = "unpooled_seq", sequenceName = "bench_unpooled_seq", allocationSize = 1)
+	private long id;
+	
+	private String name;
+	
+	public UnpooledSequenceItem() {
+		super();
+	}
+	
+	public UnpooledSequenceItem(String name) {
+		super();
+		this.name = name;
+	}
+	
+	public long getId() {
+		return id;
+	}
+	
+	public String getName() {
+		return name;
+	}
+}
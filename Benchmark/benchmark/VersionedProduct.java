@@ -0,0 +1,51 @@
+package benchmark;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.Version;
+
+// Product row with an optimistic lock, for LockingBenchmark
+@Entity
+@Table(name = "bench_versioned_product")
+public class VersionedProduct {
+
+	@Id
+	@Column(name="Product_id")
+	private int id;
+	private int price;
+	@Version
+	private int version;
+
+	public VersionedProduct() {
+		super();
+	}
+
+	public VersionedProduct(int id, int price) {
+		super();
+		this.id = id;
+		this.price = price;
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public int getPrice() {
+		return price;
+	}
+
+	public void setPrice(int price) {
+		this.price = price;
+	}
+
+	public int getVersion() {
+		return version;
+	}
+
+	@Override
+	public String toString() {
+		return "VersionedProduct [id=" + id + ", price=" + price + ", version=" + version + "]";
+	}
+}
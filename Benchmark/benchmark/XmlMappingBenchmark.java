@@ -0,0 +1,47 @@
+package benchmark;
+
+import java.util.List;
+
+// Entity-based CRUD with the mapping defined by META-INF/orm.xml only ("XML Configuration")
+public class XmlMappingBenchmark extends AbstractCrudBenchmark {
+
+    @Override
+    protected String tableName() {
+        return "bench_xml_employee";
+    }
+
+    @Override
+    protected Object newRow(int id) {
+        return new XmlEmployee(id, "Employee-" + id, "City-" + id % 50, "Post-" + id % 10, 9_000_000_000L + id);
+    }
+
+    @Override
+    protected Object findRow(int id) {
+        return eManager.find(XmlEmployee.class, id);
+    }
+
+    @Override
+    protected List<?> scanRange(int from, int to) {
+        return eManager.createQuery("SELECT e FROM XmlEmployee e WHERE e.id BETWEEN :from AND :to", XmlEmployee.class)
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .getResultList();
+    }
+
+    @Override
+    protected int updateRange(int from, int to) {
+        return eManager.createQuery("UPDATE XmlEmployee e SET e.post = :post WHERE e.id BETWEEN :from AND :to")
+            .setParameter("post", "HR")
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .executeUpdate();
+    }
+
+    @Override
+    protected int deleteRange(int from, int to) {
+        return eManager.createQuery("DELETE FROM XmlEmployee e WHERE e.id BETWEEN :from AND :to")
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .executeUpdate();
+    }
+}
@@ -0,0 +1,28 @@
+package jpql_Approch;
+
+import javax.persistence.EntityManagerFactory;
+
+// Bulk insert / update / delete with a switchable engine:
+//  - stateful  → EntityManager (persistence context, dirty checking, flush + clear per batch)
+//  - stateless → Hibernate StatelessSession (no persistence context, no snapshots, JDBC batched)
+// Select the engine with the "app.bulk.mode" property of the persistence unit.
+public interface BulkWriter<T> extends AutoCloseable {
+
+    String MODE_PROPERTY = "app.bulk.mode";
+
+    long insert(Iterable<? extends T> entities);
+
+    long update(Iterable<? extends T> entities);
+
+    long delete(Iterable<? extends T> entities);
+
+    @Override
+    void close();
+
+    static <T> BulkWriter<T> open(EntityManagerFactory eFactory) {
+        Object mode = eFactory.getProperties().getOrDefault(MODE_PROPERTY, "stateful");
+        return "stateless".equalsIgnoreCase(mode.toString())
+            ? new StatelessBulkWriter<>(eFactory)
+            : new StatefulBulkWriter<>(eFactory);
+    }
+}
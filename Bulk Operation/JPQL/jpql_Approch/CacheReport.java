@@ -0,0 +1,49 @@
+package jpql_Approch;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+// Hit / miss / put counts per second-level cache region (Hibernate statistics)
+// plus eviction counts from the JCache statistics MBeans enabled in ehcache.xml.
+public class CacheReport {
+
+    public static String of(EntityManagerFactory eFactory) {
+        Statistics stats = eFactory.unwrap(SessionFactory.class).getStatistics();
+        StringBuilder report = new StringBuilder("Second-level cache:\n");
+
+        for (String region : stats.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStats = stats.getDomainDataRegionStatistics(region);
+            report.append(String.format("  %-40s hits=%d, misses=%d, puts=%d, size=%d, evictions=%d%n",
+                region, regionStats.getHitCount(), regionStats.getMissCount(), regionStats.getPutCount(),
+                regionStats.getElementCountInMemory(), evictions(region)));
+        }
+
+        report.append(String.format("Query cache: hits=%d, misses=%d, puts=%d, evictions=%d",
+            stats.getQueryCacheHitCount(), stats.getQueryCacheMissCount(), stats.getQueryCachePutCount(),
+            evictions("default-query-results-region")));
+        return report.toString();
+    }
+
+    // javax.cache:type=CacheStatistics,CacheManager=...,Cache=<region>
+    private static long evictions(String region) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            long total = 0;
+            for (ObjectName name : server.queryNames(new ObjectName("javax.cache:type=CacheStatistics,*"), null)) {
+                if (region.equals(name.getKeyProperty("Cache"))) {
+                    total += (Long) server.getAttribute(name, "CacheEvictions");
+                }
+            }
+            return total;
+        } catch (Exception e) {
+            return -1; // Statistics MBeans not registered
+        }
+    }
+}
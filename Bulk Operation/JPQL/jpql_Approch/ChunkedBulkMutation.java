@@ -0,0 +1,334 @@
+package jpql_Approch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+
+// Bulk UPDATE / DELETE in primary key chunks, one short transaction each, instead of one statement that
+// locks every matching row (and, without an index on the filter, every row it scans) until it commits.
+// Per chunk:
+//  1. Bounds: the next chunkSize matching ids after the last committed one (a plain read, no locks)
+//  2. Lock:   SELECT ... WHERE id > lo AND id <= hi AND (where) FOR UPDATE, timed as the chunk's lock wait
+//  3. Mutate: the UPDATE / DELETE on the same id range and filter, then commit
+// The filter is re-applied in 2 and 3, so rows changed by others in between are judged on their current values.
+// Throttling: after each chunk the job sleeps pauseMillis plus the lock wait it just had, so writers it had to
+// queue behind get the table back. Resumable: with a checkpoint file, the last committed id is stored after
+// every chunk and a re-run of the same job continues from it; the file is removed once the job completes.
+// Clauses are SQL over the mapped table's columns; SET clauses should not depend on the current value
+// (price = ?, not price = price + 1): a crash between commit and checkpoint replays that one chunk.
+public class ChunkedBulkMutation {
+
+    private final Class<?> entityClass;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final Path checkpoint;
+
+    public ChunkedBulkMutation(Class<?> entityClass, int chunkSize, long pauseMillis) {
+        this(entityClass, chunkSize, pauseMillis, null);
+    }
+
+    // checkpoint: null for a job that starts over when interrupted
+    public ChunkedBulkMutation(Class<?> entityClass, int chunkSize, long pauseMillis, Path checkpoint) {
+        if (chunkSize < 1 || pauseMillis < 0) {
+            throw new IllegalArgumentException("chunkSize must be >= 1 and pauseMillis >= 0");
+        }
+        this.entityClass = entityClass;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+        this.checkpoint = checkpoint;
+    }
+
+    // 🔸 DELETE FROM table WHERE (where), chunk by chunk
+    public Result delete(EntityManagerFactory eFactory, String where, Object... whereParams) {
+        return run(eFactory, null, List.of(), where, Arrays.asList(whereParams));
+    }
+
+    // 🔸 UPDATE table SET set WHERE (where), chunk by chunk; the version column (if any) is bumped too
+    public Result update(EntityManagerFactory eFactory, String set, List<?> setParams, String where, List<?> whereParams) {
+        return run(eFactory, set, setParams, where, whereParams);
+    }
+
+    private Result run(EntityManagerFactory eFactory, String set, List<?> setParams, String where, List<?> whereParams) {
+        AbstractEntityPersister persister = (AbstractEntityPersister) eFactory.unwrap(SessionFactoryImplementor.class)
+            .getMetamodel().entityPersister(entityClass);
+        String table = persister.getTableName();
+        String id = persister.getIdentifierColumnNames()[0];
+        String condition = " AND (" + where + ")";
+        String range = " WHERE " + id + " > ? AND " + id + " <= ?" + condition;
+
+        String bounds = "SELECT " + id + " FROM " + table + " WHERE " + id + " > ?" + condition + " ORDER BY " + id;
+        String lock = "SELECT " + id + " FROM " + table + range + " FOR UPDATE";
+        String mutate;
+        if (set == null) {
+            mutate = "DELETE FROM " + table + range;
+        } else {
+            String version = persister.isVersioned() // Concurrent optimistic writers must see the change
+                ? ", " + persister.getVersionColumnName() + " = " + persister.getVersionColumnName() + " + 1" : "";
+            mutate = "UPDATE " + table + " SET " + set + version + range;
+        }
+        String job = mutate + " " + setParams + " " + whereParams;
+
+        EntityManager eManager = eFactory.createEntityManager();
+        EntityTransaction transaction = eManager.getTransaction();
+        long start = System.nanoTime();
+        List<Chunk> done = new ArrayList<>(); // Committed chunks, also those before a failure
+        try {
+            transaction.begin();
+            long resumedAfter = readCheckpoint(job);
+            eManager.unwrap(Session.class).doWork(connection -> {
+                long lastId = resumedAfter;
+                try (PreparedStatement next = connection.prepareStatement(bounds);
+                        PreparedStatement lockRange = connection.prepareStatement(lock);
+                        PreparedStatement write = connection.prepareStatement(mutate)) {
+                    next.setMaxRows(chunkSize); // LIMIT, whatever the dialect
+                    boolean more = true;
+                    while (more) {
+                        // 1. Bounds
+                        next.setLong(1, lastId);
+                        bind(next, 2, whereParams);
+                        long high = lastId;
+                        int matched = 0;
+                        try (ResultSet rs = next.executeQuery()) {
+                            while (rs.next()) {
+                                high = rs.getLong(1);
+                                matched++;
+                            }
+                        }
+                        connection.commit(); // Ends the read's snapshot before the chunk starts
+                        if (matched == 0) break;
+                        more = matched == chunkSize;
+
+                        // 2. Lock
+                        long chunkStart = System.nanoTime();
+                        lockRange.setLong(1, lastId);
+                        lockRange.setLong(2, high);
+                        bind(lockRange, 3, whereParams);
+                        try (ResultSet rs = lockRange.executeQuery()) {
+                            while (rs.next()) {
+                                // Locks are taken as rows are read
+                            }
+                        }
+                        long lockWait = System.nanoTime() - chunkStart;
+
+                        // 3. Mutate
+                        int index = bind(write, 1, setParams);
+                        write.setLong(index, lastId);
+                        write.setLong(index + 1, high);
+                        bind(write, index + 2, whereParams);
+                        int rows = write.executeUpdate();
+                        connection.commit();
+
+                        done.add(new Chunk(done.size() + 1, lastId, high, rows, lockWait, System.nanoTime() - chunkStart));
+                        lastId = high;
+                        writeCheckpoint(job, lastId);
+                        if (more) throttle(lockWait);
+                    }
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback(); // Only the chunk in flight; committed chunks stay, see the checkpoint
+                    throw e;
+                }
+            });
+            transaction.commit();
+            deleteCheckpoint();
+            return new Result(done, resumedAfter != Long.MIN_VALUE, System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) transaction.rollback();
+            throw e;
+        } finally {
+            eManager.close();
+            // Plain JDBC bypasses Hibernate, so drop cached entities and query results ourselves,
+            // as soon as one chunk is committed: a failed job leaves those rows changed too
+            if (!done.isEmpty()) {
+                Cache cache = eFactory.getCache();
+                cache.evict(entityClass);
+                cache.unwrap(org.hibernate.Cache.class).evictQueryRegions();
+            }
+        }
+    }
+
+    private static int bind(PreparedStatement ps, int index, List<?> params) throws SQLException {
+        for (Object param : params) {
+            ps.setObject(index++, param);
+        }
+        return index;
+    }
+
+    private void throttle(long lockWaitNanos) {
+        long pause = TimeUnit.MILLISECONDS.toNanos(pauseMillis) + lockWaitNanos;
+        if (pause <= 0) return;
+        try {
+            TimeUnit.NANOSECONDS.sleep(pause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted between chunks, resume from the checkpoint", e);
+        }
+    }
+
+    // 🔸 Checkpoint: job (statement + parameters) and the last committed id, as properties
+
+    private long readCheckpoint(String job) {
+        if (checkpoint == null || !Files.exists(checkpoint)) return Long.MIN_VALUE;
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(checkpoint)) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read checkpoint " + checkpoint, e);
+        }
+        if (!job.equals(properties.getProperty("job"))) {
+            throw new IllegalStateException("Checkpoint " + checkpoint + " belongs to another job: " + properties.getProperty("job"));
+        }
+        return Long.parseLong(properties.getProperty("lastId"));
+    }
+
+    // Written beside the target and moved over it, so a crash never leaves half a file
+    private void writeCheckpoint(String job, long lastId) {
+        if (checkpoint == null) return;
+        Properties properties = new Properties();
+        properties.setProperty("job", job);
+        properties.setProperty("lastId", Long.toString(lastId));
+        Path temp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, "ChunkedBulkMutation progress");
+            }
+            Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write checkpoint " + checkpoint, e);
+        }
+    }
+
+    private void deleteCheckpoint() {
+        if (checkpoint == null) return;
+        try {
+            Files.deleteIfExists(checkpoint);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot delete checkpoint " + checkpoint, e);
+        }
+    }
+
+    // One committed chunk: ids in (fromId, toId]
+    public static class Chunk {
+        private final int number;
+        private final long fromId;
+        private final long toId;
+        private final int rows;
+        private final long lockWaitNanos;
+        private final long elapsedNanos;
+
+        Chunk(int number, long fromId, long toId, int rows, long lockWaitNanos, long elapsedNanos) {
+            this.number = number;
+            this.fromId = fromId;
+            this.toId = toId;
+            this.rows = rows;
+            this.lockWaitNanos = lockWaitNanos;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        public long getFromId() {
+            return fromId;
+        }
+
+        public long getToId() {
+            return toId;
+        }
+
+        public int getRows() {
+            return rows;
+        }
+
+        public long getLockWaitNanos() {
+            return lockWaitNanos;
+        }
+
+        // Lock + mutate + commit, without the pause that follows
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Chunk %d (%s, %d]: %d rows, lock wait %.3f ms, %.3f ms, %.0f rows/sec", number,
+                fromId == Long.MIN_VALUE ? "-∞" : Long.toString(fromId), toId, rows,
+                lockWaitNanos / 1_000_000.0, elapsedNanos / 1_000_000.0, getRowsPerSecond());
+        }
+    }
+
+    public static class Result {
+        private final List<Chunk> chunks;
+        private final boolean resumed;
+        private final long elapsedNanos;
+
+        Result(List<Chunk> chunks, boolean resumed, long elapsedNanos) {
+            this.chunks = Collections.unmodifiableList(chunks);
+            this.resumed = resumed;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public List<Chunk> getChunks() {
+            return chunks;
+        }
+
+        // Started from a checkpoint left by an interrupted run
+        public boolean isResumed() {
+            return resumed;
+        }
+
+        public long getRows() {
+            return chunks.stream().mapToLong(Chunk::getRows).sum();
+        }
+
+        public long getLockWaitNanos() {
+            return chunks.stream().mapToLong(Chunk::getLockWaitNanos).sum();
+        }
+
+        public long getMaxLockWaitNanos() {
+            return chunks.stream().mapToLong(Chunk::getLockWaitNanos).max().orElse(0);
+        }
+
+        // Wall clock, pauses included
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : getRows() * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Rows: %d, Chunks: %d%s, Lock wait: %.1f ms (max %.1f ms), Time: %d ms, Rows/sec: %.0f",
+                getRows(), chunks.size(), resumed ? " (resumed)" : "", getLockWaitNanos() / 1_000_000.0,
+                getMaxLockWaitNanos() / 1_000_000.0, elapsedNanos / 1_000_000, getRowsPerSecond());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package jpql_Approch;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import javax.persistence.Persistence;
+
+import org.hibernate.Session;
+
+// Quarter totals on the embedded "benchmark" persistence unit (H2 in-memory):
+//  - YEAR() / QUARTER() on the column: no range can be derived, every index entry is read (full scan)
+//  - Half-open DATE range (ProductQueries.TOTALS_MADE_IN): index range scan on idx_product_made_price,
+//    ~2.5% of the entries; both are answered from the index alone since price is its second column
+// Every quarter of the 10 years is queried in turn (H2 reuses the last result of an identical query).
+// The rows start with text dates only (mixed formats, as before) and go through ManufacturingDateMigration.
+public class DateRangeBenchmark {
+
+    private static final int ROWS = 200_000;
+    private static final int YEARS = 10; // 2015 - 2024, one quarter ~ 2.5% of the rows
+    private static final int FIRST_YEAR = 2015;
+    private static final int REPEAT = 5;
+
+    private static final String FULL_SCAN =
+        "SELECT COUNT(*), COALESCE(SUM(price), 0) FROM Product_2 WHERE YEAR(manufactured_on) = ? AND QUARTER(manufactured_on) = ?";
+
+    public static void main(String[] args) {
+        EntityManagerFactory eFactory = Persistence.createEntityManagerFactory("benchmark");
+        ProductQueries.register(eFactory);
+        EntityManager eManager = eFactory.createEntityManager();
+
+        try {
+            loadLegacy(eManager);
+            System.out.println("Migration: " + new ManufacturingDateMigration(5_000).migrate(eFactory));
+
+            explain(eManager, "Function on column", "SELECT COUNT(*), COALESCE(SUM(price), 0) FROM Product_2"
+                + " WHERE YEAR(manufactured_on) = 2020 AND QUARTER(manufactured_on) = 2");
+            explain(eManager, "Date range", "SELECT COUNT(*), COALESCE(SUM(price), 0) FROM Product_2"
+                + " WHERE manufactured_on >= DATE '2020-04-01' AND manufactured_on < DATE '2020-07-01'");
+
+            System.out.printf("%8s %22s %18s%n", "Round", "YEAR()/QUARTER() (us)", "Date range (us)");
+            for (int round = 0; round <= REPEAT; round++) { // Round 0 warms up
+                long scanNanos = 0;
+                long rangeNanos = 0;
+                for (int year = FIRST_YEAR; year < FIRST_YEAR + YEARS; year++) {
+                    for (int quarter = 1; quarter <= 4; quarter++) {
+                        long start = System.nanoTime();
+                        Object[] scanned = fullScan(eManager, year, quarter);
+                        scanNanos += System.nanoTime() - start;
+
+                        start = System.nanoTime();
+                        Object[] ranged = ProductQueries.totalsMadeIn(eManager, DateRange.quarter(year, quarter));
+                        rangeNanos += System.nanoTime() - start;
+
+                        if (!String.valueOf(scanned[0]).equals(String.valueOf(ranged[0]))) {
+                            throw new IllegalStateException("Different counts for " + year + " Q" + quarter);
+                        }
+                    }
+                }
+                if (round > 0) {
+                    System.out.printf("%8d %22d %18d%n", round, scanNanos / (YEARS * 4) / 1_000, rangeNanos / (YEARS * 4) / 1_000);
+                }
+            }
+        } finally {
+            eManager.close();
+            eFactory.close();
+        }
+    }
+
+    private static Object[] fullScan(EntityManager eManager, int year, int quarter) {
+        return (Object[]) eManager.createNativeQuery(FULL_SCAN)
+            .setParameter(1, year)
+            .setParameter(2, quarter)
+            .getSingleResult();
+    }
+
+    // H2 prints the access path: /* PUBLIC.IDX_PRODUCT_MADE_PRICE */ alone is a full scan of the index,
+    // with a condition after the colon it is a range scan
+    @SuppressWarnings("unchecked")
+    private static void explain(EntityManager eManager, String label, String sql) {
+        List<Object> plan = eManager.createNativeQuery("EXPLAIN " + sql).getResultList();
+        System.out.println(label + ":\n  " + String.valueOf(plan.get(0)).replace("\n", "\n  "));
+    }
+
+    // Rows as the old mapping left them: only the text column, half ISO, half dd-MM-yyyy, a few broken
+    private static void loadLegacy(EntityManager eManager) {
+        DateTimeFormatter dayFirst = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+        LocalDate first = LocalDate.of(FIRST_YEAR, 1, 1);
+        int days = (int) (first.plusYears(YEARS).toEpochDay() - first.toEpochDay());
+
+        EntityTransaction transaction = eManager.getTransaction();
+        transaction.begin();
+        eManager.createNativeQuery("ALTER TABLE Product_2 ADD COLUMN manufacturingDate VARCHAR(10)").executeUpdate();
+        eManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO Product_2 (Product_id, name, manufacturingDate, price) VALUES (?, ?, ?, ?)")) {
+                for (int i = 1; i <= ROWS; i++) {
+                    LocalDate date = first.plusDays((i * 7919L) % days); // Spread, not in id order
+                    ps.setInt(1, i);
+                    ps.setString(2, "Product-" + i);
+                    ps.setString(3, i % 50_000 == 0 ? "n/a" : i % 2 == 0 ? date.toString() : date.format(dayFirst));
+                    ps.setInt(4, 1 + i % 1_000);
+                    ps.addBatch();
+                    if (i % 1_000 == 0) ps.executeBatch();
+                }
+            }
+        });
+        transaction.commit();
+    }
+}
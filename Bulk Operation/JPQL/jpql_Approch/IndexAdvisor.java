@@ -0,0 +1,254 @@
+package jpql_Approch;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Session;
+
+// Reads the statements recorded in SqlMetrics and reports hot WHERE predicates no index can serve.
+//  - Hot: executed at least minExecutions times (SELECT / UPDATE / DELETE only)
+//  - Predicates understood: column op value, with op one of = < > <= >= LIKE IN BETWEEN
+//    (alias.column or a bare column on single-table statements); YEAR(col) = ? and the like are
+//    not column predicates and no plain index serves them (see DateRange)
+//  - A table access counts as indexed when some index of DatabaseMetaData.getIndexInfo() has a
+//    predicate column right after a prefix of equality columns, i.e. the database can seek on it
+// Suggested indexes put the equality columns first, then one range column.
+// A heuristic over the SQL text: check the suggestion against the database's plan (EXPLAIN).
+public class IndexAdvisor {
+
+    private static final Pattern TABLE = Pattern.compile(
+        "\\b(?:from|join|update)\\s+([a-z_][\\w$]*)(?:\\s+(?:as\\s+)?([a-z_][\\w$]*))?", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CLAUSE_END = Pattern.compile(
+        "\\b(?:order by|group by|having|limit|offset|fetch first|for update)\\b", Pattern.CASE_INSENSITIVE);
+    private static final String VALUE = "(?:\\?|:\\w+|-?\\d+(?:\\.\\d+)?|'[^']*')";
+    private static final Pattern COMPARISON = Pattern.compile(
+        "(?<![\\w$.])(?:([a-z_][\\w$]*)\\.)?([a-z_][\\w$]*)\\s*(<=|>=|=|<|>)\\s*" + VALUE, Pattern.CASE_INSENSITIVE);
+    private static final Pattern KEYWORD_PREDICATE = Pattern.compile(
+        "(?<![\\w$.])(?:([a-z_][\\w$]*)\\.)?([a-z_][\\w$]*)\\s+(like|in|between)\\s*\\(?\\s*" + VALUE, Pattern.CASE_INSENSITIVE);
+    private static final Set<String> NOT_ALIASES = Set.of(
+        "where", "set", "on", "inner", "left", "right", "cross", "join", "order", "group", "limit", "values", "for");
+
+    private final long minExecutions;
+
+    public IndexAdvisor(long minExecutions) {
+        if (minExecutions < 1) {
+            throw new IllegalArgumentException("minExecutions must be >= 1");
+        }
+        this.minExecutions = minExecutions;
+    }
+
+    // 🔸 Hot statements from SqlMetrics against the indexes currently in the database
+    public List<Finding> advise(EntityManagerFactory eFactory) {
+        return advise(eFactory, SqlMetrics.registry().all());
+    }
+
+    public List<Finding> advise(EntityManagerFactory eFactory, Collection<StatementStats> statements) {
+        EntityManager eManager = eFactory.createEntityManager();
+        try {
+            return eManager.unwrap(Session.class).doReturningWork(connection -> advise(connection, statements));
+        } finally {
+            eManager.close();
+        }
+    }
+
+    private List<Finding> advise(Connection connection, Collection<StatementStats> statements) throws SQLException {
+        Map<String, List<List<String>>> indexesByTable = new HashMap<>();
+        Map<String, Finding> findings = new LinkedHashMap<>();
+
+        for (StatementStats stats : statements) {
+            if (stats.getExecutions() < minExecutions) continue;
+            for (Map.Entry<String, Access> entry : accesses(stats.getSql()).entrySet()) {
+                String table = entry.getKey();
+                Access access = entry.getValue();
+                if (!indexesByTable.containsKey(table)) {
+                    indexesByTable.put(table, indexes(connection, table));
+                }
+                List<List<String>> indexes = indexesByTable.get(table);
+                if (indexes == null || access.servedBy(indexes)) continue; // Unknown table (e.g. a CTE) or indexed
+
+                List<String> columns = access.suggestedColumns();
+                findings.computeIfAbsent(table + columns, key -> new Finding(table, columns)).add(stats);
+            }
+        }
+        List<Finding> result = new ArrayList<>(findings.values());
+        result.sort(Comparator.comparingDouble(Finding::getTotalMillis).reversed());
+        return result;
+    }
+
+    // Table → predicates on it, for one statement. Empty when nothing is filtered.
+    static Map<String, Access> accesses(String sql) {
+        String lower = sql.toLowerCase(Locale.ROOT);
+        if (!(lower.startsWith("select") || lower.startsWith("update") || lower.startsWith("delete"))) {
+            return Map.of();
+        }
+        int where = lower.indexOf(" where ");
+        if (where < 0) return Map.of();
+
+        Map<String, String> tableByAlias = new HashMap<>();
+        Set<String> tables = new LinkedHashSet<>();
+        Matcher table = TABLE.matcher(sql.substring(0, where));
+        while (table.find()) {
+            String name = table.group(1); // As written: table names are case sensitive on some databases
+            tables.add(name);
+            tableByAlias.put(name.toLowerCase(Locale.ROOT), name);
+            String alias = table.group(2) == null ? null : table.group(2).toLowerCase(Locale.ROOT);
+            if (alias != null && !NOT_ALIASES.contains(alias)) {
+                tableByAlias.put(alias, name);
+            }
+        }
+
+        String condition = sql.substring(where + 7);
+        Matcher end = CLAUSE_END.matcher(condition);
+        if (end.find()) condition = condition.substring(0, end.start());
+
+        Map<String, Access> accesses = new TreeMap<>();
+        for (Pattern pattern : new Pattern[] { COMPARISON, KEYWORD_PREDICATE }) {
+            Matcher predicate = pattern.matcher(condition);
+            while (predicate.find()) {
+                String owner = predicate.group(1) != null ? tableByAlias.get(predicate.group(1).toLowerCase(Locale.ROOT))
+                    : tables.size() == 1 ? tables.iterator().next() : null;
+                if (owner == null) continue; // Ambiguous bare column or a subquery alias
+                String op = predicate.group(3).toLowerCase(Locale.ROOT);
+                boolean equality = op.equals("=") || op.equals("in");
+                accesses.computeIfAbsent(owner, key -> new Access()).add(predicate.group(2).toLowerCase(Locale.ROOT), equality);
+            }
+        }
+        return accesses;
+    }
+
+    // Column lists (lower case, in key order) of every index on the table, the primary key included;
+    // null when the table is unknown to the database. Identifier case differs per database.
+    private static List<List<String>> indexes(Connection connection, String table) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        for (String name : new String[] { table, table.toUpperCase(Locale.ROOT), table.toLowerCase(Locale.ROOT) }) {
+            Map<String, TreeMap<Short, String>> columnsByIndex = new LinkedHashMap<>();
+            try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), null, name, false, true)) {
+                while (rs.next()) {
+                    String column = rs.getString("COLUMN_NAME");
+                    if (column == null) continue; // Table statistics row
+                    columnsByIndex.computeIfAbsent(rs.getString("INDEX_NAME"), key -> new TreeMap<>())
+                        .put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+                }
+            }
+            if (!columnsByIndex.isEmpty()) {
+                List<List<String>> indexes = new ArrayList<>();
+                columnsByIndex.values().forEach(columns -> indexes.add(new ArrayList<>(columns.values())));
+                return indexes;
+            }
+        }
+        return null;
+    }
+
+    // 🔸 Printable summary, e.g. after SqlMetrics.report()
+    public static String report(List<Finding> findings) {
+        if (findings.isEmpty()) {
+            return "✅ Index advisor: every hot predicate is served by an index";
+        }
+        StringBuilder report = new StringBuilder("⚠ Index advisor: hot predicates without a usable index\n");
+        for (Finding finding : findings) {
+            report.append("  ").append(finding).append('\n');
+        }
+        return report.toString();
+    }
+
+    // Predicates of one statement on one table
+    static final class Access {
+        private final Set<String> equality = new LinkedHashSet<>();
+        private final Set<String> range = new LinkedHashSet<>();
+
+        void add(String column, boolean isEquality) {
+            (isEquality ? equality : range).add(column);
+        }
+
+        // An index helps when one of its columns is a predicate column and every column before it is
+        // compared with "="
+        boolean servedBy(List<List<String>> indexes) {
+            for (List<String> index : indexes) {
+                for (String column : index) {
+                    if (equality.contains(column) || range.contains(column)) return true;
+                    if (!equality.contains(column)) break;
+                }
+            }
+            return false;
+        }
+
+        List<String> suggestedColumns() {
+            List<String> columns = new ArrayList<>(equality);
+            range.stream().filter(column -> !equality.contains(column)).findFirst().ifPresent(columns::add);
+            return columns;
+        }
+    }
+
+    public static class Finding {
+        private final String table;
+        private final List<String> columns;
+        private final List<StatementStats> statements = new ArrayList<>();
+
+        Finding(String table, List<String> columns) {
+            this.table = table;
+            this.columns = columns;
+        }
+
+        void add(StatementStats stats) {
+            statements.add(stats);
+        }
+
+        public String getTable() {
+            return table;
+        }
+
+        public List<String> getColumns() {
+            return columns;
+        }
+
+        public List<StatementStats> getStatements() {
+            return statements;
+        }
+
+        public long getExecutions() {
+            return statements.stream().mapToLong(StatementStats::getExecutions).sum();
+        }
+
+        public double getTotalMillis() {
+            return statements.stream().mapToDouble(s -> s.getAverageMillis() * s.getExecutions()).sum();
+        }
+
+        public String getIndexName() {
+            return ("idx_" + table + "_" + String.join("_", columns)).toLowerCase(Locale.ROOT);
+        }
+
+        // To try it out; the lasting fix is the same index declared on the entity / in orm.xml
+        public String getCreateIndexSql() {
+            return "CREATE INDEX " + getIndexName() + " ON " + table + " (" + String.join(", ", columns) + ")";
+        }
+
+        public String getIndexAnnotation() {
+            return "@Index(name = \"" + getIndexName() + "\", columnList = \"" + String.join(", ", columns) + "\")";
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s(%s): %d statement(s), %d executions, %.1f ms total%n    %s%n    %s",
+                table, String.join(", ", columns), statements.size(), getExecutions(), getTotalMillis(),
+                getCreateIndexSql(), getIndexAnnotation());
+        }
+    }
+}
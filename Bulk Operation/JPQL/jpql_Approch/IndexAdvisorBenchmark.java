@@ -0,0 +1,110 @@
+package jpql_Approch;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import javax.persistence.Persistence;
+
+import org.hibernate.Session;
+
+// IndexAdvisor checked against H2's query plans on the embedded "benchmark" persistence unit:
+//  1. idx_product_name is dropped, as before it was declared on Product
+//  2. Hot lookups by name and price run through the instrumented connection provider (SqlMetrics)
+//  3. The advisor must report Product_2(name) and nothing else; EXPLAIN shows a table scan
+//  4. The suggested index is created, the same workload runs again: no findings, EXPLAIN uses it
+public class IndexAdvisorBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int LOOKUPS = 500;
+    private static final String LOOKUP_PLAN = "SELECT price FROM Product_2 WHERE name = 'Product-4242'";
+
+    public static void main(String[] args) {
+        EntityManagerFactory eFactory = Persistence.createEntityManagerFactory("benchmark", Map.of(
+            "hibernate.connection.provider_class", InstrumentedConnectionProvider.class.getName(),
+            "app.sql.slow_threshold_ms", "10000")); // Only the advisor's view of the statements is wanted here
+        ProductQueries.register(eFactory);
+        EntityManager eManager = eFactory.createEntityManager();
+        IndexAdvisor advisor = new IndexAdvisor(LOOKUPS / 2);
+
+        try {
+            load(eManager);
+            execute(eManager, "DROP INDEX idx_product_name");
+
+            // Before: name lookups scan the table
+            long before = workload(eManager);
+            List<IndexAdvisor.Finding> findings = advisor.advise(eFactory);
+            System.out.println(IndexAdvisor.report(findings));
+            explain(eManager, "Without index");
+            if (findings.size() != 1 || !findings.get(0).getColumns().equals(List.of("name"))) {
+                throw new IllegalStateException("Expected exactly Product_2(name), got " + findings);
+            }
+
+            // After: the suggested index
+            execute(eManager, findings.get(0).getCreateIndexSql());
+            SqlMetrics.registry().reset();
+            long after = workload(eManager);
+            findings = advisor.advise(eFactory);
+            System.out.println(IndexAdvisor.report(findings));
+            explain(eManager, "With the suggested index");
+            if (!findings.isEmpty()) {
+                throw new IllegalStateException("Expected no findings, got " + findings);
+            }
+
+            System.out.printf("%d lookups by name + %d price filters: %d ms without, %d ms with the index%n",
+                LOOKUPS, LOOKUPS, before / 1_000_000, after / 1_000_000);
+        } finally {
+            eManager.close();
+            eFactory.close();
+        }
+    }
+
+    // Name lookups (no index yet) and price filters (served by idx_product_price_id), different values each time
+    private static long workload(EntityManager eManager) {
+        long start = System.nanoTime();
+        for (int i = 1; i <= LOOKUPS; i++) {
+            ProductQueries.PRICES_BY_NAME.on(eManager).set("name", "Product-" + (i * 197 % ROWS)).getResultList();
+            ProductQueries.ABOVE_PRICE.on(eManager).set("min", 990 + i % 10).maxResults(20).getResultList();
+            eManager.clear();
+        }
+        return System.nanoTime() - start;
+    }
+
+    // H2 prints the access path as a comment: /* PUBLIC.PRODUCT_2.tableScan */ or /* PUBLIC.<INDEX>: NAME = ... */
+    @SuppressWarnings("unchecked")
+    private static void explain(EntityManager eManager, String label) {
+        List<Object> plan = eManager.createNativeQuery("EXPLAIN " + LOOKUP_PLAN).getResultList();
+        System.out.println(label + ":\n  " + String.valueOf(plan.get(0)).replace("\n", "\n  "));
+    }
+
+    private static void execute(EntityManager eManager, String sql) {
+        EntityTransaction transaction = eManager.getTransaction();
+        transaction.begin();
+        eManager.createNativeQuery(sql).executeUpdate();
+        transaction.commit();
+    }
+
+    private static void load(EntityManager eManager) {
+        EntityTransaction transaction = eManager.getTransaction();
+        transaction.begin();
+        eManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO Product_2 (Product_id, name, manufactured_on, price) VALUES (?, ?, ?, ?)")) {
+                LocalDate first = LocalDate.of(2023, 1, 1);
+                for (int i = 1; i <= ROWS; i++) {
+                    ps.setInt(1, i);
+                    ps.setString(2, "Product-" + i);
+                    ps.setObject(3, first.plusDays(i % 365));
+                    ps.setInt(4, 1 + i % 1_000);
+                    ps.addBatch();
+                    if (i % 1_000 == 0) ps.executeBatch();
+                }
+            }
+        });
+        transaction.commit();
+    }
+}
@@ -0,0 +1,28 @@
+package jpql_Approch;
+
+import java.util.List;
+
+// One page of a keyset (seek) query plus the opaque token for the next page
+public class KeysetPage<T> {
+
+    private final List<T> items;
+    private final String nextToken;
+
+    public KeysetPage(List<T> items, String nextToken) {
+        this.items = items;
+        this.nextToken = nextToken;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    // null when this is the last page
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+}
@@ -1,6 +1,11 @@
 package jpql_Approch;
 
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import javax.persistence.*;
 
 public class Main {
@@ -9,84 +14,135 @@ public class Main {
 
     public static void main(String[] args) {
 
-        eFactory = Persistence.createEntityManagerFactory("config");
+        eFactory = FastBootstrap.createEntityManagerFactory("config"); // Skips schema update when mapping is unchanged
+        ProductQueries.register(eFactory); // Compiles and validates every query once, up front
         eManager = eFactory.createEntityManager();
+        ProductStats.get().start(eFactory, 10, TimeUnit.MINUTES); // Maintained count, rebuilt every 10 min
 
-        // insert();         // Insert operation
+        // List<Integer> ids = insert(); // Insert operation; ids come from a sequence, the calls below use them
         // readAll();        // Read all full entities
+        // readPaged();      // Read full entities page by page (keyset)
         // read();           // Read selected fields (projection)
-        // update();         // Update price by ID
+        // readByIds(ids);   // Read many products by id (batched IN lists)
+        // readQuarter();    // Read products manufactured in a quarter (date range)
+        // migrateDates();   // Copy the legacy text dates into the DATE column (once)
+        // update(ids.get(2)); // Update price by ID
         // delete();           // Delete by name
+        // updateChunked();  // Bulk price change in short id-range transactions (large tables)
+        // deleteChunked();  // Bulk delete by name in short id-range transactions, resumable
          getCount();      // Count all products
 
         System.out.println(eManager);
+        System.out.println(CacheReport.of(eFactory));
+        System.out.println(ProductQueries.planCacheReport(eFactory));
+        System.out.println(SqlMetrics.registry().report());
+        System.out.println(IndexAdvisor.report(new IndexAdvisor(10).advise(eFactory))); // Hot predicates without an index
+        ProductStats.get().stop();
     }
 
-    // 🔸 Insert – JPQL doesn't support INSERT statements, use persist()
-    public static void insert() {
-        EntityTransaction transaction = eManager.getTransaction();
-        transaction.begin();
-
-        Product product1 = new Product(101, "Mobile", "11-11-2022", 20000);
-        Product product2 = new Product(102, "Wooden Desk", "21-02-2022", 7000);
-        Product product3 = new Product(103, "Mechanical Pen", "01-08-2022", 20);
-
-        eManager.persist(product1);
-        eManager.persist(product2);
-
-        eManager.flush(); // Forces pending inserts to DB (optional here)
-
-        eManager.persist(product3);
-
-        transaction.commit();
+    // 🔸 Insert – JPQL doesn't support INSERT statements, use persist() / StatelessSession.insert()
+    public static List<Integer> insert() {
+        List<Product> products = Arrays.asList(
+            new Product("Mobile", LocalDate.of(2022, 11, 11), 20000),
+            new Product("Wooden Desk", LocalDate.of(2022, 2, 21), 7000),
+            new Product("Mechanical Pen", LocalDate.of(2022, 8, 1), 20));
+
+        // Engine chosen by app.bulk.mode in persistence.xml (stateful / stateless)
+        try (BulkWriter<Product> writer = BulkWriter.open(eFactory)) {
+            long rows = writer.insert(products);
+            System.out.println("Rows inserted: " + rows);
+            if (writer instanceof StatelessBulkWriter && rows > 0) {
+                ProductStats.get().invalidate(); // No entity callbacks in a StatelessSession
+            }
+        }
+        return products.stream().map(Product::getId).collect(Collectors.toList()); // Assigned by the insert
     }
 
-    // 🔸 Read All – Full Entity objects
+    // 🔸 Read All – Full Entity objects (streamed, one fetch-size chunk in memory at a time)
     public static void readAll() {
-        String query = "SELECT p FROM Product p WHERE p.price > :min";
-
-        Query jpQuery = eManager.createQuery(query);
-        jpQuery.setParameter("min", 100); // Named parameter
+        Query jpQuery = ProductQueries.ABOVE_PRICE.on(eManager)
+            .set("min", 100) // Named parameter, checked against the declared type
+            .query();
 
-        List<Product> resultList = jpQuery.getResultList();
-
-        for (Product row : resultList) {
+        StreamingReader reader = new StreamingReader(eManager);
+        long rows = reader.<Product>forEach(jpQuery, row -> {
             System.out.print(row.getId());
             System.out.print("\t" + row.getName());
             System.out.print("\t" + row.getManufacturingDate());
             System.out.print("\t" + row.getPrice());
             System.out.println();
+        });
+        System.out.println("Rows read: " + rows);
+    }
+
+    // 🔸 Read Paged – Keyset pagination, continues from the last (price, id) seen
+    public static void readPaged() {
+        ProductKeysetPager pager = new ProductKeysetPager(eManager, 50);
+
+        String token = null;
+        int pageNo = 1;
+        do {
+            KeysetPage<Product> page = pager.page(100, token);
+            System.out.println("Page " + pageNo++ + ": " + page.getItems());
+            token = page.getNextToken(); // Opaque, can be handed to a client
+        } while (token != null);
+    }
+
+    // 🔸 Read By Ids – Batched IN lists instead of one find() per id, results in input order
+    public static void readByIds(List<Integer> ids) {
+        List<Product> products = new BatchFinder(eManager, 64).findAll(Product.class, ids);
+        for (int i = 0; i < ids.size(); i++) {
+            System.out.println(ids.get(i) + "\t" + products.get(i)); // null when the id does not exist
         }
     }
 
-    // 🔸 Read – Projection (partial fields)
+    // 🔸 Read – Projection (partial fields) into the ProductSummary record, no managed entities
     public static void read() {
-        String query = "SELECT p.id, p.name FROM Product p WHERE p.price > :min";
+        List<ProductSummary> resultList = ProductQueries.SUMMARIES_ABOVE_PRICE.on(eManager)
+            .set("min", 100) // Named parameter
+            .getResultList();
 
-        Query jpQuery = eManager.createQuery(query);
-        jpQuery.setParameter("min", 100); // Named parameter
+        for (ProductSummary product : resultList) {
+            System.out.println("ID: " + product.id() + "\tName: " + product.name() + "\tPrice: " + product.price());
+        }
+    }
 
-        List<Object[]> resultList = jpQuery.getResultList();
+    // 🔸 Read Quarter – Date range on the DATE column (index range scan on idx_product_made_price)
+    public static void readQuarter() {
+        DateRange q2 = DateRange.quarter(2022, 2);
 
-        for (Object[] row : resultList) {
-            System.out.println("ID: " + row[0] + "\tName: " + row[1]);
+        for (Product product : ProductQueries.madeIn(eManager, q2)) {
+            System.out.println(product.getManufacturingDate() + "\t" + product.getName() + "\t" + product.getPrice());
         }
+        Object[] totals = ProductQueries.totalsMadeIn(eManager, q2); // Answered from the index alone
+        System.out.println("Q2 2022: " + totals[0] + " products, total price " + totals[1]);
+    }
+
+    // 🔸 Migration – Legacy manufacturingDate strings (mixed formats) → manufactured_on DATE
+    public static void migrateDates() {
+        ManufacturingDateMigration.Result result = new ManufacturingDateMigration(1_000).migrate(eFactory);
+        System.out.println("✅ Dates migrated. " + result);
     }
 
     // 🔸 Update – Using NamedQuery with parameters
-    public static void update() {
+    public static void update(int id) {
         EntityTransaction transaction = eManager.getTransaction();
         transaction.begin();
 
-        Query jQuery = eManager.createNamedQuery("Product.UpdatePriceById"); //-> Pass as a String
-        jQuery.setParameter("price", 25);
-        jQuery.setParameter("id", 103);
+        // Bulk JPQL skips entity callbacks: read the old prices first for the ProductStats deltas
+        List<Integer> oldPrices = ProductQueries.PRICE_BY_ID.on(eManager)
+            .set("id", id)
+            .getResultList();
 
-        int rowsUpdated = jQuery.executeUpdate();
+        int rowsUpdated = ProductQueries.UPDATE_PRICE_BY_ID.on(eManager) //-> @NamedQuery, through its handle
+            .set("price", 25)
+            .set("id", id)
+            .executeUpdate();
         System.out.println("Update Successful");
         System.out.println("Rows updated: " + rowsUpdated);
 
         transaction.commit();
+        oldPrices.forEach(oldPrice -> ProductStats.get().priceChanged(oldPrice, 25));
     }
 
     // 🔸 Delete – Using NamedQuery with parameter
@@ -94,24 +150,50 @@ public class Main {
         EntityTransaction transaction = eManager.getTransaction();
         transaction.begin();
 
-        Query jQuery = eManager.createNamedQuery("Product.deleteByName"); //-> Pass as a String
-        jQuery.setParameter("name", "Wooden Desk");
+        // Bulk JPQL skips entity callbacks: read the prices first for the ProductStats deltas
+        List<Integer> prices = ProductQueries.PRICES_BY_NAME.on(eManager)
+            .set("name", "Wooden Desk")
+            .getResultList();
 
-        int rowsUpdated = jQuery.executeUpdate();
+        int rowsUpdated = ProductQueries.DELETE_BY_NAME.on(eManager) //-> @NamedQuery, through its handle
+            .set("name", "Wooden Desk")
+            .executeUpdate();
         System.out.println("Delete Successful");
         System.out.println("Rows deleted: " + rowsUpdated);
 
         transaction.commit();
+        prices.forEach(ProductStats.get()::deleted);
     }
 
-    // 🔸 Count – Using NamedQuery (returns single result)
-    public static void getCount() {
-        Query jQuery = eManager.createNamedQuery("Product.countProducts");
+    // 🔸 Update in chunks – Same change as one bulk UPDATE, but no chunk holds its row locks for long
+    public static void updateChunked() {
+        ChunkedBulkMutation.Result result = new ChunkedBulkMutation(Product.class, 1_000, 50)
+            .update(eFactory, "price = ?", List.of(25), "price > ?", List.of(1_000));
+        result.getChunks().forEach(System.out::println); // Rows/sec and lock wait per chunk
+        System.out.println("Rows updated: " + result);
+        ProductStats.get().invalidate(); // Old prices unknown: rebuild the bands
+    }
 
-        Object count = jQuery.getSingleResult(); // returns Long or BigInteger
+    // 🔸 Delete in chunks – Re-running after an interruption continues after the last committed chunk
+    public static void deleteChunked() {
+        ChunkedBulkMutation.Result result = new ChunkedBulkMutation(Product.class, 1_000, 50,
+                Paths.get("delete-by-name.checkpoint"))
+            .delete(eFactory, "name = ?", "Wooden Desk");
+        result.getChunks().forEach(System.out::println);
+        System.out.println("Rows deleted: " + result);
+        ProductStats.get().invalidate();
+    }
 
-        int totalProducts = Integer.parseInt(count.toString());
+    // 🔸 Count – Maintained counter (O(1)), no COUNT(*) scan per call
+    public static void getCount() {
+        long totalProducts = ProductStats.get().count();
 
         System.out.println("Total Products: " + totalProducts);
+        System.out.println(ProductStats.get()); // Count and sum(price) per price band
+    }
+
+    // 🔸 Count – Using NamedQuery (scans the table / index, served from the query cache when fresh)
+    public static long countFromDatabase() {
+        return ProductQueries.COUNT.on(eManager).getSingleResult();
     }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package jpql_Approch;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import javax.persistence.Persistence;
+
+// Per-page latency of OFFSET paging vs keyset paging as the page number grows,
+// on the embedded "benchmark" persistence unit (H2 in-memory).
+// OFFSET has to walk and discard every earlier row; keyset seeks straight to the page.
+public class PaginationBenchmark {
+
+    private static final int ROWS = 200_000;
+    private static final int PAGE_SIZE = 50;
+    private static final int[] SAMPLE_PAGES = {1, 10, 100, 1_000, 3_999};
+
+    public static void main(String[] args) {
+        EntityManagerFactory eFactory = Persistence.createEntityManagerFactory("benchmark");
+        ProductQueries.register(eFactory); // ProductKeysetPager runs through the registered handles
+        EntityManager eManager = eFactory.createEntityManager();
+
+        try {
+            load(eManager);
+
+            System.out.printf("%8s %15s %15s%n", "Page", "OFFSET (us)", "Keyset (us)");
+            ProductKeysetPager pager = new ProductKeysetPager(eManager, PAGE_SIZE);
+            String token = null;
+            int sample = 0;
+
+            for (int pageNo = 1; sample < SAMPLE_PAGES.length; pageNo++) {
+                long start = System.nanoTime();
+                KeysetPage<Product> page = pager.page(0, token);
+                long keysetNanos = System.nanoTime() - start;
+                eManager.clear();
+
+                if (pageNo == SAMPLE_PAGES[sample]) {
+                    System.out.printf("%8d %15d %15d%n", pageNo, offsetPage(eManager, pageNo) / 1_000, keysetNanos / 1_000);
+                    sample++;
+                }
+                token = page.getNextToken();
+                if (token == null) break;
+            }
+        } finally {
+            eManager.close();
+            eFactory.close();
+        }
+    }
+
+    private static long offsetPage(EntityManager eManager, int pageNo) {
+        long start = System.nanoTime();
+        List<Product> items = eManager
+            .createQuery("SELECT p FROM Product p WHERE p.price > :min ORDER BY p.price, p.id", Product.class)
+            .setParameter("min", 0)
+            .setFirstResult((pageNo - 1) * PAGE_SIZE)
+            .setMaxResults(PAGE_SIZE)
+            .getResultList();
+        long elapsed = System.nanoTime() - start;
+        eManager.clear();
+        return items.isEmpty() ? -1 : elapsed;
+    }
+
+    private static void load(EntityManager eManager) {
+        EntityTransaction transaction = eManager.getTransaction();
+        transaction.begin();
+        for (int i = 1; i <= ROWS; i++) {
+            eManager.persist(new Product("Product-" + i, LocalDate.of(2023, 1, 1), 1 + i % 1_000));
+            if (i % 1_000 == 0) {
+                eManager.flush();
+                eManager.clear();
+            }
+        }
+        transaction.commit();
+    }
+}
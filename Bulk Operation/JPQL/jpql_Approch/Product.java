@@ -1,17 +1,36 @@
 package jpql_Approch;
 
+import java.time.LocalDate;
+
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.EntityListeners;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.NamedQuery;
+import javax.persistence.QueryHint;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Transient;
+import javax.persistence.Version;
+
+import org.hibernate.annotations.ColumnDefault;
 
 //Entity Class
 @Entity
-@Table(name = "Product_2")
+@Cacheable // Second-level cache (shared-cache-mode ENABLE_SELECTIVE)
+@EntityListeners(ProductStatsListener.class) // Maintains ProductStats
+@Table(name = "Product_2",
+       indexes = {
+        @Index(name = "idx_product_price_id", columnList = "price, Product_id"), // Keyset pagination
+        @Index(name = "idx_product_made_price", columnList = "manufactured_on, price"), // Date ranges (+ covered price)
+        @Index(name = "idx_product_name", columnList = "name")}) // Product.deleteByName, Product.pricesByName
 @NamedQuery(
  name = "Product.UpdatePriceById",
- query = "UPDATE Product p SET p.price = :price WHERE p.id = :id" // No semicolon (;) in JPQL queries
+ query = "UPDATE Product p SET p.price = :price, p.version = p.version + 1 WHERE p.id = :id" // Bulk UPDATE skips @Version: bump it by hand
 )
 @NamedQuery(
  name = "Product.deleteByName",
@@ -19,23 +38,43 @@ import javax.persistence.Table;
 )
 @NamedQuery(
  name = "Product.countProducts",
- query = "SELECT COUNT(p) FROM Product p" // No semicolon (;) in JPQL queries
+ query = "SELECT COUNT(p) FROM Product p", // No semicolon (;) in JPQL queries
+ hints = @QueryHint(name = "org.hibernate.cacheable", value = "true") // Query cache, invalidated on any Product_2 write
 )
 public class Product {
 		
 	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_2_seq")
+	@SequenceGenerator(name = "product_2_seq", sequenceName = "product_2_seq", initialValue = 1_000, allocationSize = 50) // 50 ids per round trip
 	@Column(name="Product_id") //Optional
 	private int id;
 	@Column(length=25)
 	private String name;
-	private String manufacturingDate;
+	// DATE column; the old free-text manufacturingDate column is read only by ManufacturingDateMigration
+	@Column(name="manufactured_on")
+	private LocalDate manufacturingDate;
 	private int price;
+	// Optimistic lock; DEFAULT 0 keeps plain JDBC inserts (NativeBulkInserter, benchmarks) valid.
+	// Bulk and native UPDATEs must increment it themselves ("version = version + 1")
+	@Version
+	@ColumnDefault("0")
+	private int version;
+	@Transient
+	private int storedPrice; // Price as last loaded / written, for ProductStats deltas
 		
 	public Product() {
 		super();
 	}
 
-	public Product(int id, String name, String manufacturingDate, int price) {
+	// Id assigned on persist
+	public Product(String name, LocalDate manufacturingDate, int price) {
+		super();
+		this.name = name;
+		this.manufacturingDate = manufacturingDate;
+		this.price = price;
+	}
+
+	public Product(int id, String name, LocalDate manufacturingDate, int price) {
 		super();
 		this.id = id;
 		this.name = name;
@@ -59,11 +98,11 @@ public class Product {
 		this.name = name;
 	}
 
-	public String getManufacturingDate() {
+	public LocalDate getManufacturingDate() {
 		return manufacturingDate;
 	}
 
-	public void setManufacturingDate(String manufacturingDate) {
+	public void setManufacturingDate(LocalDate manufacturingDate) {
 		this.manufacturingDate = manufacturingDate;
 	}
 
@@ -75,6 +114,19 @@ public class Product {
 		this.price = price;
 	}
 
+	// Read-only: Hibernate maintains it
+	public int getVersion() {
+		return version;
+	}
+
+	int getStoredPrice() {
+		return storedPrice;
+	}
+
+	void markStored() {
+		this.storedPrice = price;
+	}
+
 	@Override
 	public String toString() {
 		return "Product [id=" + id + ", name=" + name + ", manufacturingDate=" + manufacturingDate + ", price="
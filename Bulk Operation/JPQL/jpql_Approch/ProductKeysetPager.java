@@ -0,0 +1,67 @@
+package jpql_Approch;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+// Keyset (seek) pagination over Product ordered by (price, id).
+// Each page continues after the last seen (price, id) instead of using OFFSET,
+// so page 10,000 costs the same as page 1 (an index range scan on idx_product_price_id).
+// Queries: ProductQueries.FIRST_PAGE / NEXT_PAGE.
+// Returned products are detached (merge() one to change it), as are products of the same id the
+// caller had loaded before.
+public class ProductKeysetPager {
+
+    private final EntityManager eManager;
+    private final int pageSize;
+
+    public ProductKeysetPager(EntityManager eManager, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be >= 1");
+        }
+        this.eManager = eManager;
+        this.pageSize = pageSize;
+    }
+
+    // 🔸 Products with price > min; pass null as token for the first page
+    public KeysetPage<Product> page(int min, String token) {
+        QueryHandle.Call<Product> query;
+        if (token == null) {
+            query = ProductQueries.FIRST_PAGE.on(eManager);
+        } else {
+            int[] key = decode(token);
+            query = ProductQueries.NEXT_PAGE.on(eManager);
+            query.set("lastPrice", key[0]);
+            query.set("lastId", key[1]);
+        }
+        query.set("min", min);
+        query.maxResults(pageSize + 1); // One extra row tells us whether a next page exists
+
+        List<Product> rows = query.getResultList();
+        rows.forEach(eManager::detach); // Read-only and detached: walking every page keeps the persistence context empty
+        if (rows.size() <= pageSize) {
+            return new KeysetPage<>(rows, null);
+        }
+
+        List<Product> items = rows.subList(0, pageSize);
+        Product last = items.get(pageSize - 1);
+        return new KeysetPage<>(items, encode(last.getPrice(), last.getId()));
+    }
+
+    static String encode(int price, int id) {
+        String key = price + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static int[] decode(String token) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = key.indexOf(':');
+            return new int[] {Integer.parseInt(key.substring(0, sep)), Integer.parseInt(key.substring(sep + 1))};
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid continuation token: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package jpql_Approch;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+// Every JPQL statement of this project, compiled and registered once by register() at startup.
+// A typo, an unknown property or a parameter declared with the wrong type fails the bootstrap
+// instead of the first call; callers go through the typed handles below, never through strings.
+public final class ProductQueries {
+
+    public static final QueryHandle<Product> ABOVE_PRICE = QueryHandle.jpql("Product.abovePrice",
+            "SELECT p FROM Product p WHERE p.price > :min", Product.class)
+        .param("min", Integer.class);
+
+    public static final QueryHandle<ProductSummary> SUMMARIES_ABOVE_PRICE = QueryHandle.jpql("Product.summariesAbovePrice",
+            "SELECT new jpql_Approch.ProductSummary(p.id, p.name, p.price) FROM Product p WHERE p.price > :min", ProductSummary.class)
+        .param("min", Integer.class);
+
+    public static final QueryHandle<Integer> PRICE_BY_ID = QueryHandle.jpql("Product.priceById",
+            "SELECT p.price FROM Product p WHERE p.id = :id", Integer.class)
+        .param("id", Integer.class);
+
+    public static final QueryHandle<Integer> PRICES_BY_NAME = QueryHandle.jpql("Product.pricesByName",
+            "SELECT p.price FROM Product p WHERE p.name = :name", Integer.class)
+        .param("name", String.class);
+
+    // Keyset pagination (ProductKeysetPager)
+    public static final QueryHandle<Product> FIRST_PAGE = QueryHandle.jpql("Product.firstPage",
+            "SELECT p FROM Product p WHERE p.price > :min ORDER BY p.price, p.id", Product.class)
+        .param("min", Integer.class)
+        .hint("org.hibernate.readOnly", true); // Pages are handed out detached, see ProductKeysetPager
+
+    public static final QueryHandle<Product> NEXT_PAGE = QueryHandle.jpql("Product.nextPage",
+            "SELECT p FROM Product p WHERE p.price > :min"
+            + " AND (p.price > :lastPrice OR (p.price = :lastPrice AND p.id > :lastId))"
+            + " ORDER BY p.price, p.id", Product.class)
+        .param("min", Integer.class)
+        .param("lastPrice", Integer.class)
+        .param("lastId", Integer.class)
+        .hint("org.hibernate.readOnly", true);
+
+    // Per price band COUNT / SUM (ProductStats.rebuild)
+    public static final QueryHandle<Object[]> BAND_TOTALS = QueryHandle.jpql("Product.bandTotals",
+            "SELECT COUNT(p), COALESCE(SUM(p.price), 0) FROM Product p WHERE p.price >= :low AND p.price < :high", Object[].class)
+        .param("low", Integer.class)
+        .param("high", Integer.class);
+
+    public static final QueryHandle<Object[]> OPEN_BAND_TOTALS = QueryHandle.jpql("Product.openBandTotals",
+            "SELECT COUNT(p), COALESCE(SUM(p.price), 0) FROM Product p WHERE p.price >= :low", Object[].class)
+        .param("low", Integer.class);
+
+    // Date ranges (half-open, see DateRange): index range scan on idx_product_made_price
+    public static final QueryHandle<Product> MADE_IN = QueryHandle.jpql("Product.madeIn",
+            "SELECT p FROM Product p WHERE p.manufacturingDate >= :from AND p.manufacturingDate < :until"
+            + " ORDER BY p.manufacturingDate, p.price", Product.class)
+        .param("from", LocalDate.class)
+        .param("until", LocalDate.class);
+
+    // Covered by (manufactured_on, price): no table rows are read
+    public static final QueryHandle<Object[]> TOTALS_MADE_IN = QueryHandle.jpql("Product.totalsMadeIn",
+            "SELECT COUNT(p), COALESCE(SUM(p.price), 0) FROM Product p"
+            + " WHERE p.manufacturingDate >= :from AND p.manufacturingDate < :until", Object[].class)
+        .param("from", LocalDate.class)
+        .param("until", LocalDate.class);
+
+    // @NamedQuery on Product
+    public static final QueryHandle<Void> UPDATE_PRICE_BY_ID = QueryHandle.declaredUpdate("Product.UpdatePriceById")
+        .param("price", Integer.class)
+        .param("id", Integer.class);
+
+    public static final QueryHandle<Void> DELETE_BY_NAME = QueryHandle.declaredUpdate("Product.deleteByName")
+        .param("name", String.class);
+
+    public static final QueryHandle<Long> COUNT = QueryHandle.declared("Product.countProducts", Long.class);
+
+    private static final List<QueryHandle<?>> ALL = Arrays.asList(ABOVE_PRICE, SUMMARIES_ABOVE_PRICE, PRICE_BY_ID,
+        PRICES_BY_NAME, FIRST_PAGE, NEXT_PAGE, BAND_TOTALS, OPEN_BAND_TOTALS, MADE_IN, TOTALS_MADE_IN,
+        UPDATE_PRICE_BY_ID, DELETE_BY_NAME, COUNT);
+
+    private ProductQueries() {
+    }
+
+    // 🔸 Once per EntityManagerFactory, before the first call through a handle
+    public static void register(EntityManagerFactory eFactory) {
+        EntityManager eManager = eFactory.createEntityManager();
+        try {
+            for (QueryHandle<?> handle : ALL) {
+                handle.register(eFactory, eManager);
+            }
+        } finally {
+            eManager.close();
+        }
+    }
+
+    // 🔸 Products manufactured in the range, by date then price
+    public static List<Product> madeIn(EntityManager eManager, DateRange range) {
+        return MADE_IN.on(eManager).set("from", range.from()).set("until", range.until()).getResultList();
+    }
+
+    // 🔸 {count, sum of price} for the range
+    public static Object[] totalsMadeIn(EntityManager eManager, DateRange range) {
+        return TOTALS_MADE_IN.on(eManager).set("from", range.from()).set("until", range.until()).getSingleResult();
+    }
+
+    // 🔸 Hibernate's query plan cache (needs hibernate.generate_statistics)
+    public static String planCacheReport(EntityManagerFactory eFactory) {
+        Statistics stats = eFactory.unwrap(SessionFactory.class).getStatistics();
+        long hits = stats.getQueryPlanCacheHitCount();
+        long misses = stats.getQueryPlanCacheMissCount();
+        return String.format("Query plan cache: hits=%d, misses=%d, hit rate=%.1f%% (%d registered queries)",
+            hits, misses, hits + misses == 0 ? 0 : 100.0 * hits / (hits + misses), ALL.size());
+    }
+}
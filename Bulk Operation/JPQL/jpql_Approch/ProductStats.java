@@ -0,0 +1,181 @@
+package jpql_Approch;
+
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+// Maintained Product aggregates: total row count plus count / sum(price) per price band.
+// Reads are O(1) (one volatile read), so dashboards can poll count() instead of running
+// "SELECT COUNT(p) FROM Product p" every time.
+//  - Entity lifecycle changes arrive through ProductStatsListener
+//  - Bulk JPQL / native UPDATE and DELETE report their deltas with priceChanged() / deleted()
+//  - Paths that cannot know the old values (StatelessSession) call invalidate()
+//  - A background rebuild recomputes everything from the table and corrects any drift
+//    (rolled-back transactions, writes from other applications)
+public final class ProductStats {
+
+    // Upper bounds (exclusive) of the price bands; the last band is open-ended
+    private static final int[] BAND_UPPER = {100, 1_000, 10_000};
+
+    private static final ProductStats INSTANCE = new ProductStats();
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(new Snapshot(new long[bandCount()], new long[bandCount()]));
+    private volatile EntityManagerFactory eFactory;
+    private volatile boolean invalidated;
+    private ScheduledExecutorService rebuilder;
+
+    private ProductStats() {
+    }
+
+    public static ProductStats get() {
+        return INSTANCE;
+    }
+
+    // 🔹 Initial rebuild now, then a full rebuild every interval
+    public synchronized void start(EntityManagerFactory eFactory, long interval, TimeUnit unit) {
+        stop();
+        this.eFactory = eFactory;
+        rebuild();
+        rebuilder = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "product-stats-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rebuilder.scheduleWithFixedDelay(this::rebuildQuietly, interval, interval, unit);
+    }
+
+    public synchronized void stop() {
+        if (rebuilder != null) {
+            rebuilder.shutdownNow();
+            rebuilder = null;
+        }
+    }
+
+    // 🔹 O(1) reads
+
+    public long count() {
+        return current.get().total;
+    }
+
+    public long count(int band) {
+        return current.get().counts[band];
+    }
+
+    public long sumOfPrice(int band) {
+        return current.get().sums[band];
+    }
+
+    public static int bandCount() {
+        return BAND_UPPER.length + 1;
+    }
+
+    public static int bandOf(int price) {
+        for (int band = 0; band < BAND_UPPER.length; band++) {
+            if (price < BAND_UPPER[band]) return band;
+        }
+        return BAND_UPPER.length;
+    }
+
+    // 🔹 Incremental maintenance
+
+    public void inserted(int price) {
+        apply(price, +1);
+    }
+
+    public void deleted(int price) {
+        apply(price, -1);
+    }
+
+    public void priceChanged(int oldPrice, int newPrice) {
+        if (oldPrice != newPrice) {
+            current.updateAndGet(s -> s.plus(oldPrice, -1).plus(newPrice, +1));
+        }
+    }
+
+    // Rows were written without callbacks and without known old values: rebuild soon
+    public void invalidate() {
+        invalidated = true;
+        ScheduledExecutorService executor = rebuilder;
+        if (executor != null) {
+            executor.execute(this::rebuildQuietly);
+        }
+    }
+
+    private void apply(int price, int rows) {
+        current.updateAndGet(s -> s.plus(price, rows));
+    }
+
+    // 🔹 Full recomputation: one index range query per band (idx_product_price_id)
+    public void rebuild() {
+        boolean expected = invalidated;
+        invalidated = false;
+        long[] counts = new long[bandCount()];
+        long[] sums = new long[bandCount()];
+
+        EntityManager eManager = eFactory.createEntityManager();
+        try {
+            for (int band = 0; band < bandCount(); band++) {
+                int low = band == 0 ? Integer.MIN_VALUE : BAND_UPPER[band - 1];
+                boolean open = band == BAND_UPPER.length;
+                QueryHandle.Call<Object[]> query = open
+                    ? ProductQueries.OPEN_BAND_TOTALS.on(eManager)
+                    : ProductQueries.BAND_TOTALS.on(eManager).set("high", BAND_UPPER[band]);
+
+                Object[] row = query.set("low", low).getSingleResult();
+                counts[band] = ((Number) row[0]).longValue();
+                sums[band] = ((Number) row[1]).longValue();
+            }
+        } finally {
+            eManager.close();
+        }
+
+        // Deltas applied while the queries ran are overwritten; the next rebuild catches them
+        Snapshot rebuilt = new Snapshot(counts, sums);
+        Snapshot previous = current.getAndSet(rebuilt);
+        if (previous.total != rebuilt.total && !expected) {
+            System.err.println("⚠ Product count drifted: maintained " + previous.total + ", actual " + rebuilt.total);
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            System.err.println("❌ Product stats rebuild failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        Snapshot snapshot = current.get();
+        return "Products: " + snapshot.total + ", per band: " + Arrays.toString(snapshot.counts)
+            + ", sum(price) per band: " + Arrays.toString(snapshot.sums);
+    }
+
+    // Immutable, replaced as a whole so readers never see a half-applied delta
+    private static final class Snapshot {
+        private final long total;
+        private final long[] counts;
+        private final long[] sums;
+
+        Snapshot(long[] counts, long[] sums) {
+            this.counts = counts;
+            this.sums = sums;
+            this.total = Arrays.stream(counts).sum();
+        }
+
+        Snapshot plus(int price, int rows) {
+            long[] counts = this.counts.clone();
+            long[] sums = this.sums.clone();
+            int band = bandOf(price);
+            counts[band] += rows;
+            sums[band] += (long) price * rows;
+            return new Snapshot(counts, sums);
+        }
+    }
+}
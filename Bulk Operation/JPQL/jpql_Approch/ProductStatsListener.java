@@ -0,0 +1,33 @@
+package jpql_Approch;
+
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+// Feeds entity lifecycle changes (persist / merge / remove through an EntityManager) into ProductStats.
+// Product remembers the price it was loaded or stored with, so an update knows which band to leave.
+public class ProductStatsListener {
+
+    @PostLoad
+    public void loaded(Product product) {
+        product.markStored();
+    }
+
+    @PostPersist
+    public void persisted(Product product) {
+        ProductStats.get().inserted(product.getPrice());
+        product.markStored();
+    }
+
+    @PostUpdate
+    public void updated(Product product) {
+        ProductStats.get().priceChanged(product.getStoredPrice(), product.getPrice());
+        product.markStored();
+    }
+
+    @PostRemove
+    public void removed(Product product) {
+        ProductStats.get().deleted(product.getStoredPrice());
+    }
+}
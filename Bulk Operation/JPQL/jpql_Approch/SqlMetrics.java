@@ -0,0 +1,115 @@
+package jpql_Approch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// In-process registry of per-statement SQL metrics, filled by InstrumentedConnectionProvider.
+// Replaces hibernate.show_sql: instead of printing every statement it keeps counts, latency
+// histograms and rows per statement, and flags
+//  - slow executions (above app.sql.slow_threshold_ms)
+//  - N+1 patterns: the same SELECT run app.sql.n_plus_one_threshold times in a row on one thread
+public final class SqlMetrics {
+
+    private static final SqlMetrics REGISTRY = new SqlMetrics();
+
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final ThreadLocal<Repeat> lastStatement = ThreadLocal.withInitial(Repeat::new);
+    private volatile long slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(100);
+    private volatile int nPlusOneThreshold = 10;
+
+    private SqlMetrics() {
+    }
+
+    public static SqlMetrics registry() {
+        return REGISTRY;
+    }
+
+    void configure(long slowThresholdMillis, int nPlusOneThreshold) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    StatementStats statsFor(String sql) {
+        return statements.computeIfAbsent(normalize(sql), StatementStats::new);
+    }
+
+    void record(StatementStats stats, long nanos, long rows) {
+        boolean slow = nanos >= slowThresholdNanos;
+        stats.record(nanos, rows, slow);
+        if (slow) {
+            System.err.printf("🐢 Slow SQL (%.1f ms): %s%n", nanos / 1_000_000.0, stats.getSql());
+        }
+
+        Repeat repeat = lastStatement.get();
+        if (repeat.stats == stats) {
+            if (++repeat.count == nPlusOneThreshold && stats.getSql().regionMatches(true, 0, "select", 0, 6)) {
+                stats.markNPlusOne();
+                System.err.println("⚠ Possible N+1: same SELECT executed " + nPlusOneThreshold + " times in a row: " + stats.getSql());
+            }
+        } else {
+            repeat.stats = stats;
+            repeat.count = 1;
+        }
+    }
+
+    // 🔹 Queries over the registry
+
+    public StatementStats get(String sql) {
+        return statements.get(normalize(sql));
+    }
+
+    public Collection<StatementStats> all() {
+        return new ArrayList<>(statements.values());
+    }
+
+    // Statements containing the given fragment, e.g. "Product_1" or "delete from Product_2"
+    public List<StatementStats> matching(String fragment) {
+        String needle = fragment.toLowerCase();
+        return statements.values().stream()
+            .filter(stats -> stats.getSql().toLowerCase().contains(needle))
+            .collect(Collectors.toList());
+    }
+
+    // Statements with the highest total time first
+    public List<StatementStats> top(int limit) {
+        return statements.values().stream()
+            .sorted(Comparator.comparingDouble((StatementStats s) -> s.getAverageMillis() * s.getExecutions()).reversed())
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+
+    public List<StatementStats> slowStatements() {
+        return statements.values().stream().filter(s -> s.getSlowExecutions() > 0).collect(Collectors.toList());
+    }
+
+    public List<StatementStats> suspectedNPlusOne() {
+        return statements.values().stream().filter(StatementStats::isSuspectedNPlusOne).collect(Collectors.toList());
+    }
+
+    public void reset() {
+        statements.clear();
+    }
+
+    public String report() {
+        StringBuilder report = new StringBuilder("SQL metrics (top 20 by total time):\n");
+        for (StatementStats stats : top(20)) {
+            report.append("  ").append(stats).append('\n');
+        }
+        return report.toString();
+    }
+
+    private static String normalize(String sql) {
+        return sql.trim().replaceAll("\\s+", " ");
+    }
+
+    private static final class Repeat {
+        private StatementStats stats;
+        private int count;
+    }
+}
@@ -0,0 +1,77 @@
+package jpql_Approch;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+
+// BulkWriter on a Hibernate StatelessSession: every call goes straight to a JDBC batch.
+// No first-level cache, no snapshots, no dirty checking, no cascades and no second-level
+// cache updates — exactly what an ETL job does not need.
+// Hibernate 5 does not invalidate anything for it either: neither the cached entities nor the
+// query cache timestamps. So after each commit the regions of the written entity classes and
+// all query result regions are evicted here.
+public class StatelessBulkWriter<T> implements BulkWriter<T> {
+
+    private final EntityManagerFactory eFactory;
+    private final StatelessSession session;
+
+    public StatelessBulkWriter(EntityManagerFactory eFactory) {
+        this.eFactory = eFactory;
+        this.session = eFactory.unwrap(SessionFactory.class).openStatelessSession();
+        Object value = eFactory.getProperties().get("hibernate.jdbc.batch_size");
+        this.session.setJdbcBatchSize(value == null ? 50 : Integer.parseInt(value.toString()));
+    }
+
+    @Override
+    public long insert(Iterable<? extends T> entities) {
+        return inTransaction(entities, StatelessSession::insert);
+    }
+
+    @Override
+    public long update(Iterable<? extends T> entities) {
+        return inTransaction(entities, StatelessSession::update);
+    }
+
+    @Override
+    public long delete(Iterable<? extends T> entities) {
+        return inTransaction(entities, StatelessSession::delete);
+    }
+
+    private long inTransaction(Iterable<? extends T> entities, BiConsumer<StatelessSession, T> operation) {
+        long count = 0;
+        Set<Class<?>> written = new HashSet<>();
+        Transaction transaction = session.beginTransaction();
+        try {
+            for (T entity : entities) {
+                operation.accept(session, entity);
+                written.add(entity.getClass());
+                count++;
+            }
+            transaction.commit(); // Executes the last pending JDBC batch
+            evict(written);
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) transaction.rollback();
+            throw e;
+        }
+        return count;
+    }
+
+    private void evict(Set<Class<?>> written) {
+        if (written.isEmpty()) return;
+        Cache cache = eFactory.getCache();
+        written.forEach(cache::evict);
+        cache.unwrap(org.hibernate.Cache.class).evictQueryRegions();
+    }
+
+    @Override
+    public void close() {
+        if (session.isOpen()) session.close();
+    }
+}
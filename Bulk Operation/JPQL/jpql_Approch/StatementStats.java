@@ -0,0 +1,96 @@
+package jpql_Approch;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counters and a latency histogram for one SQL statement.
+// Buckets are powers of two in microseconds: bucket i holds executions < 2^i µs.
+public class StatementStats {
+
+    private static final int BUCKETS = 32;
+
+    private final String sql;
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder slowExecutions = new LongAdder();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+    private volatile boolean suspectedNPlusOne;
+
+    StatementStats(String sql) {
+        this.sql = sql;
+    }
+
+    void record(long nanos, long affectedRows, boolean slow) {
+        executions.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        if (affectedRows > 0) rows.add(affectedRows);
+        if (slow) slowExecutions.increment();
+
+        long micros = Math.max(1, nanos / 1_000);
+        histogram.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros)));
+    }
+
+    void addRows(long count) {
+        rows.add(count);
+    }
+
+    void markNPlusOne() {
+        suspectedNPlusOne = true;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    // Rows affected (DML) or read (queries)
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public long getSlowExecutions() {
+        return slowExecutions.sum();
+    }
+
+    public boolean isSuspectedNPlusOne() {
+        return suspectedNPlusOne;
+    }
+
+    public double getAverageMillis() {
+        long count = executions.sum();
+        return count == 0 ? 0 : totalNanos.sum() / (double) count / 1_000_000;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    // Upper bound of the histogram bucket holding the given percentile (0 < p <= 100)
+    public double getPercentileMillis(double p) {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) count += histogram.get(i);
+        long rank = (long) Math.ceil(count * p / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += histogram.get(i);
+            if (seen >= rank && rank > 0) {
+                return (1L << i) / 1_000.0;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%6d x | avg %.3f ms | p50 <= %.3f ms | p99 <= %.3f ms | max %.3f ms | rows %d | slow %d%s | %s",
+            getExecutions(), getAverageMillis(), getPercentileMillis(50), getPercentileMillis(99), getMaxMillis(),
+            getRows(), getSlowExecutions(), suspectedNPlusOne ? " | N+1?" : "", sql);
+    }
+}
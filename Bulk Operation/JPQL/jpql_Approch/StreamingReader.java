@@ -0,0 +1,75 @@
+package jpql_Approch;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+
+// Constant-memory result iteration: rows are pulled from the JDBC cursor
+// fetchSize at a time via getResultStream(), handed to the consumer and
+// then evicted from the persistence context, so the heap stays flat no
+// matter how many rows the query matches.
+public class StreamingReader {
+
+    private static final String FETCH_SIZE_PROPERTY = "hibernate.jdbc.fetch_size";
+    private static final int DEFAULT_FETCH_SIZE = 500;
+
+    private final EntityManager eManager;
+    private final int fetchSize;
+
+    // Uses the hibernate.jdbc.fetch_size of the persistence unit
+    public StreamingReader(EntityManager eManager) {
+        this(eManager, configuredFetchSize(eManager));
+    }
+
+    public StreamingReader(EntityManager eManager, int fetchSize) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("fetchSize must be >= 1");
+        }
+        this.eManager = eManager;
+        this.fetchSize = fetchSize;
+    }
+
+    // 🔹 Streams every row of the query (JPQL or native) to the consumer, returns the row count
+    @SuppressWarnings("unchecked")
+    public <T> long forEach(Query query, Consumer<? super T> consumer) {
+        query.setHint("org.hibernate.fetchSize", fetchSize);
+        query.setHint("org.hibernate.readOnly", true); // No snapshots for dirty checking
+
+        long count = 0;
+        Boolean entityRows = null;
+        try (Stream<T> stream = query.getResultStream()) { // Closes the underlying ScrollableResults
+            for (T row : (Iterable<T>) stream::iterator) {
+                consumer.accept(row);
+                if (entityRows == null) {
+                    entityRows = row != null && isEntity(row);
+                }
+                if (entityRows) {
+                    eManager.detach(row); // Evict once the consumer is done with it
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    // Scalar / Object[] projections are never managed, so only entities are detached
+    private boolean isEntity(Object row) {
+        try {
+            eManager.getMetamodel().entity(row.getClass());
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static int configuredFetchSize(EntityManager eManager) {
+        Object value = eManager.getEntityManagerFactory().getProperties().get(FETCH_SIZE_PROPERTY);
+        return value == null ? DEFAULT_FETCH_SIZE : Integer.parseInt(value.toString());
+    }
+}
@@ -0,0 +1,41 @@
+package com.main;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+// Half-open date range [from, until): consecutive ranges never overlap, and "date >= from AND
+// date < until" stays a plain index range condition (no end-of-month / leap-year arithmetic).
+public record DateRange(LocalDate from, LocalDate until) {
+
+    public DateRange {
+        if (from == null || until == null || !from.isBefore(until)) {
+            throw new IllegalArgumentException("Empty or invalid date range: [" + from + ", " + until + ")");
+        }
+    }
+
+    // quarter 1..4
+    public static DateRange quarter(int year, int quarter) {
+        if (quarter < 1 || quarter > 4) {
+            throw new IllegalArgumentException("quarter must be 1..4");
+        }
+        LocalDate from = LocalDate.of(year, 3 * quarter - 2, 1);
+        return new DateRange(from, from.plusMonths(3));
+    }
+
+    public static DateRange month(YearMonth month) {
+        return new DateRange(month.atDay(1), month.plusMonths(1).atDay(1));
+    }
+
+    public static DateRange year(int year) {
+        return new DateRange(LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1));
+    }
+
+    public boolean contains(LocalDate date) {
+        return !date.isBefore(from) && date.isBefore(until);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + from + ", " + until + ")";
+    }
+}
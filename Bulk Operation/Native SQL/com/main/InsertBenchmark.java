@@ -0,0 +1,72 @@
+package com.main;
+
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import javax.persistence.Persistence;
+import javax.persistence.Query;
+
+// Compares the old one-executeUpdate()-per-row loop with NativeBulkInserter
+// on the embedded "benchmark" persistence unit (H2 in-memory).
+public class InsertBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) {
+        EntityManagerFactory eFactory = Persistence.createEntityManagerFactory("benchmark");
+        EntityManager eManager = eFactory.createEntityManager();
+
+        try {
+            for (int round = 1; round <= ROUNDS; round++) {
+                clear(eManager);
+                long loopNanos = loopInsert(eManager, rows());
+                clear(eManager);
+                NativeBulkInserter.Result batched = new NativeBulkInserter(1000, 10).insert(eManager, rows());
+
+                System.out.printf("Round %d -> Loop: %.0f rows/sec | Batched: %.0f rows/sec%n",
+                    round, ROWS * 1_000_000_000.0 / loopNanos, batched.getRowsPerSecond());
+            }
+        } finally {
+            eManager.close();
+            eFactory.close();
+        }
+    }
+
+    private static Stream<Object[]> rows() {
+        return IntStream.rangeClosed(1, ROWS)
+            .mapToObj(i -> new Object[] {"Product-" + i, LocalDate.of(2023, 1, 1), i % 500});
+    }
+
+    // 🔹 Same approach as the original NativeSQLCrudOperation.insert()
+    private static long loopInsert(EntityManager eManager, Stream<Object[]> rows) {
+        long start = System.nanoTime();
+        EntityTransaction transaction = eManager.getTransaction();
+        transaction.begin();
+
+        Query nativeQuery = eManager.createNativeQuery(
+            "INSERT INTO Product_1 (Product_id, name, manufactured_on, price) VALUES (?, ?, ?, ?)");
+        int[] id = {0}; // Hand-assigned, as before
+        rows.forEach(data -> {
+            nativeQuery.setParameter(1, ++id[0]);
+            nativeQuery.setParameter(2, data[0]);
+            nativeQuery.setParameter(3, data[1]);
+            nativeQuery.setParameter(4, data[2]);
+            nativeQuery.executeUpdate();
+        });
+
+        transaction.commit();
+        return System.nanoTime() - start;
+    }
+
+    private static void clear(EntityManager eManager) {
+        EntityTransaction transaction = eManager.getTransaction();
+        transaction.begin();
+        eManager.createNativeQuery("DELETE FROM Product_1").executeUpdate();
+        transaction.commit();
+    }
+}
@@ -0,0 +1,194 @@
+package com.main;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.List;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+
+// One-off copy of the legacy free-text manufacturingDate column into the DATE column Product maps now.
+// Both formats found in the data are accepted: yyyy-MM-dd (native SQL samples) and dd-MM-yyyy (JPQL samples).
+//  - Walks the primary key, batchSize rows per commit, and skips rows whose DATE column is already set:
+//    the migration can be stopped and re-run at any time
+//  - Unparseable values are counted, logged and left NULL for manual repair
+// Once a run reports unparseable == 0 the legacy column can go: ALTER TABLE ... DROP COLUMN manufacturingDate
+public class ManufacturingDateMigration {
+
+    private static final String LEGACY_COLUMN = "manufacturingDate";
+    private static final int LOGGED_FAILURES = 10;
+
+    private static final List<DateTimeFormatter> FORMATS = List.of(
+        DateTimeFormatter.ofPattern("uuuu-MM-dd").withResolverStyle(ResolverStyle.STRICT),
+        DateTimeFormatter.ofPattern("dd-MM-uuuu").withResolverStyle(ResolverStyle.STRICT));
+
+    private final int batchSize;
+
+    public ManufacturingDateMigration(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be >= 1");
+        }
+        this.batchSize = batchSize;
+    }
+
+    public Result migrate(EntityManagerFactory eFactory) {
+        // Table and column names as mapped, so this works for whichever table Product lives in
+        AbstractEntityPersister persister = (AbstractEntityPersister) eFactory.unwrap(SessionFactoryImplementor.class)
+            .getMetamodel().entityPersister(Product.class);
+        String table = persister.getTableName();
+        String idColumn = persister.getIdentifierColumnNames()[0];
+        String dateColumn = persister.getPropertyColumnNames("manufacturingDate")[0];
+
+        // Primary key range only: a "date IS NULL" filter would make every batch re-scan the rows left
+        String select = "SELECT " + idColumn + ", " + LEGACY_COLUMN + ", " + dateColumn + " FROM " + table
+            + " WHERE " + idColumn + " > ? ORDER BY " + idColumn;
+        String version = persister.isVersioned() // Concurrent optimistic writers must not overwrite the new date
+            ? ", " + persister.getVersionColumnName() + " = " + persister.getVersionColumnName() + " + 1" : "";
+        String update = "UPDATE " + table + " SET " + dateColumn + " = ?" + version + " WHERE " + idColumn + " = ?";
+
+        EntityManager eManager = eFactory.createEntityManager();
+        EntityTransaction transaction = eManager.getTransaction();
+        long start = System.nanoTime();
+        boolean[] committed = {false}; // Any batch in the database yet, also when a later one fails
+        try {
+            transaction.begin();
+            Result result = eManager.unwrap(Session.class).doReturningWork(connection -> {
+                if (!hasColumn(connection, table, LEGACY_COLUMN)) {
+                    System.out.println("✅ " + table + " has no " + LEGACY_COLUMN + " column, nothing to migrate");
+                    return new Result(0, 0, 0, 0);
+                }
+                long migrated = 0;
+                long unparseable = 0;
+                int batches = 0;
+                int lastId = Integer.MIN_VALUE;
+
+                try (PreparedStatement read = connection.prepareStatement(select);
+                        PreparedStatement write = connection.prepareStatement(update)) {
+                    read.setMaxRows(batchSize); // LIMIT, whatever the dialect
+                    while (true) {
+                        read.setInt(1, lastId);
+                        int rows = 0;
+                        try (ResultSet rs = read.executeQuery()) {
+                            while (rs.next()) {
+                                rows++;
+                                lastId = rs.getInt(1);
+                                String text = rs.getString(2);
+                                if (text == null || rs.getObject(3) != null) continue; // Nothing to do / done before
+                                LocalDate date = parse(text);
+                                if (date == null) {
+                                    if (unparseable++ < LOGGED_FAILURES) {
+                                        System.err.println("⚠ Product " + lastId + ": unparseable " + LEGACY_COLUMN + " '" + text + "'");
+                                    }
+                                    continue;
+                                }
+                                write.setObject(1, date);
+                                write.setInt(2, lastId);
+                                write.addBatch();
+                                migrated++;
+                            }
+                        }
+                        if (rows == 0) break;
+                        write.executeBatch();
+                        connection.commit(); // Progress survives an interruption
+                        committed[0] = true;
+                        batches++;
+                    }
+                }
+                return new Result(migrated, unparseable, batches, 0);
+            });
+            transaction.commit();
+            return new Result(result.migrated, result.unparseable, result.batches, System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) transaction.rollback();
+            throw e;
+        } finally {
+            eManager.close();
+            // Rows changed behind Hibernate's back: cached Products and date queries are stale
+            if (committed[0]) {
+                Cache cache = eFactory.getCache();
+                cache.evict(Product.class);
+                cache.unwrap(org.hibernate.Cache.class).evictQueryRegions();
+            }
+        }
+    }
+
+    // null when no known format matches
+    static LocalDate parse(String text) {
+        String trimmed = text.trim();
+        for (DateTimeFormatter format : FORMATS) {
+            try {
+                return LocalDate.parse(trimmed, format);
+            } catch (DateTimeParseException e) {
+                // Try the next format
+            }
+        }
+        return null;
+    }
+
+    // Identifier case differs per database (H2 upper-cases unquoted names, MySQL keeps them)
+    private static boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        for (String name : new String[] { table, table.toUpperCase(), table.toLowerCase() }) {
+            try (ResultSet rs = metaData.getColumns(connection.getCatalog(), null, name, null)) {
+                while (rs.next()) {
+                    if (column.equalsIgnoreCase(rs.getString("COLUMN_NAME"))) return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public static class Result {
+        private final long migrated;
+        private final long unparseable;
+        private final int batches;
+        private final long elapsedNanos;
+
+        Result(long migrated, long unparseable, int batches, long elapsedNanos) {
+            this.migrated = migrated;
+            this.unparseable = unparseable;
+            this.batches = batches;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getMigrated() {
+            return migrated;
+        }
+
+        // Left NULL, see the logged ids
+        public long getUnparseable() {
+            return unparseable;
+        }
+
+        public int getBatches() {
+            return batches;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : (migrated + unparseable) * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Migrated: %d, Unparseable: %d, Batches: %d, Time: %d ms, Rows/sec: %.0f",
+                migrated, unparseable, batches, elapsedNanos / 1_000_000, getRowsPerSecond());
+        }
+    }
+}
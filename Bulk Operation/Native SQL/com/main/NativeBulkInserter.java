@@ -0,0 +1,139 @@
+package com.main;
+
+import java.sql.PreparedStatement;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityTransaction;
+
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+// JDBC-batched bulk insert for Product_1.
+// Rows are sent in chunks of batchSize (one round trip per chunk) and
+// committed every commitEveryBatches chunks, instead of one executeUpdate() per row.
+// Ids come from Product's pooled-lo sequence generator, the same one persist() uses.
+public class NativeBulkInserter {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO Product_1 (Product_id, name, manufactured_on, price) VALUES (?, ?, ?, ?)";
+
+    private final int batchSize;
+    private final int commitEveryBatches;
+
+    public NativeBulkInserter(int batchSize, int commitEveryBatches) {
+        if (batchSize < 1 || commitEveryBatches < 1) {
+            throw new IllegalArgumentException("batchSize and commitEveryBatches must be >= 1");
+        }
+        this.batchSize = batchSize;
+        this.commitEveryBatches = commitEveryBatches;
+    }
+
+    // 🔹 Insert every row of the stream: {name, manufacturingDate (LocalDate), price}
+    public Result insert(EntityManager eManager, Stream<Object[]> rows) {
+        Session session = eManager.unwrap(Session.class);
+        IdentifierGenerator ids = session.getSessionFactory().unwrap(SessionFactoryImplementor.class)
+            .getMetamodel().entityPersister(Product.class).getIdentifierGenerator();
+        EntityTransaction transaction = eManager.getTransaction();
+        long start = System.nanoTime();
+        boolean[] committed = {false}; // Any rows in the database yet, also when a later batch fails
+
+        transaction.begin();
+        try {
+            Result result = session.doReturningWork(connection -> {
+                long inserted = 0;
+                int batches = 0;
+                int commits = 0;
+                int pending = 0;
+
+                try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL)) {
+                    Iterator<Object[]> it = rows.iterator();
+                    while (it.hasNext()) {
+                        Object[] data = it.next();
+                        ps.setObject(1, ids.generate((SharedSessionContractImplementor) session, null)); // In memory for 49 of 50 rows
+                        ps.setObject(2, data[0]);
+                        ps.setObject(3, data[1]);
+                        ps.setObject(4, data[2]);
+                        ps.addBatch();
+
+                        if (++pending == batchSize) {
+                            ps.executeBatch(); // One round trip for the whole chunk
+                            inserted += pending;
+                            pending = 0;
+                            if (++batches % commitEveryBatches == 0) {
+                                connection.commit(); // Keep undo log / locks bounded
+                                committed[0] = true;
+                                commits++;
+                            }
+                        }
+                    }
+                    if (pending > 0) {
+                        ps.executeBatch();
+                        inserted += pending;
+                        batches++;
+                    }
+                }
+                return new Result(inserted, batches, commits, 0);
+            });
+
+            transaction.commit();
+            committed[0] = true;
+            return new Result(result.rows, result.batches, result.commits + 1, System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) transaction.rollback();
+            throw e;
+        } finally {
+            // Plain JDBC bypasses Hibernate, so drop cached Product data and query results ourselves,
+            // whenever a batch was committed: a failure later on does not undo those rows
+            if (committed[0]) {
+                Cache cache = eManager.getEntityManagerFactory().getCache();
+                cache.evict(Product.class);
+                cache.unwrap(org.hibernate.Cache.class).evictQueryRegions();
+            }
+        }
+    }
+
+    public static class Result {
+        private final long rows;
+        private final int batches;
+        private final int commits;
+        private final long elapsedNanos;
+
+        Result(long rows, int batches, int commits, long elapsedNanos) {
+            this.rows = rows;
+            this.batches = batches;
+            this.commits = commits;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public int getBatches() {
+            return batches;
+        }
+
+        public int getCommits() {
+            return commits;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Rows: %d, Batches: %d, Commits: %d, Time: %d ms, Rows/sec: %.0f",
+                rows, batches, commits, elapsedNanos / 1_000_000, getRowsPerSecond());
+        }
+    }
+}
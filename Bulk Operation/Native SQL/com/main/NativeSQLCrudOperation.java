@@ -1,6 +1,9 @@
 package com.main;
 
 import javax.persistence.*;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
 
 public class NativeSQLCrudOperation {
@@ -9,14 +12,22 @@ public class NativeSQLCrudOperation {
 
     public static void main(String[] args) {
         try {
-            eFactory = Persistence.createEntityManagerFactory("config");
+            eFactory = FastBootstrap.createEntityManagerFactory("config"); // Skips schema update when mapping is unchanged
+            ProductQueries.register(eFactory); // Parses and validates every statement once, up front
             eManager = eFactory.createEntityManager();
 
             // insert(); // Insert multiple products
+            // upsert(); // Insert new / update existing products by Product_id
             // readAllColumns();   // Read All Columns based on Condition <Product>
             // read();   // Read All Specific Columns based on Condition <Object>
+            // readQuarter(); // Read products manufactured in a quarter (date range)
+            // migrateDates(); // Copy the legacy text dates into the DATE column (once)
             // update(); // Update product price using native SQL
             delete(); // Delete product(s) by condition
+            // updateChunked(); // Bulk price change in short id-range transactions (large tables)
+            // deleteChunked(); // Bulk delete in short id-range transactions, resumable (large tables)
+
+            System.out.println(IndexAdvisor.report(new IndexAdvisor(10).advise(eFactory))); // Hot predicates without an index
 
         } catch (Exception e) {
             System.err.println("❌ An unexpected error occurred: " + e.getMessage());
@@ -24,66 +35,82 @@ public class NativeSQLCrudOperation {
         } finally {
             if (eManager != null && eManager.isOpen()) eManager.close();
             if (eFactory != null && eFactory.isOpen()) eFactory.close();
+            System.out.println(SqlMetrics.registry().report());
+            if (eFactory != null) System.out.println(ProductQueries.planCacheReport(eFactory));
             System.out.println("✅ Application finished. Resources closed.");
         }
     }
 
-    // 🔹 INSERT using Native SQL (bulk-like behavior with loop)
+    // 🔹 INSERT using Native SQL (JDBC batched, see NativeBulkInserter)
     private static void insert() {
-        EntityTransaction transaction = eManager.getTransaction();
-        transaction.begin();
-
-        // Prepare SQL (column names must match table)
-        String sql = "INSERT INTO Product_1 (Product_id, name, manufacturingDate, price) VALUES (?, ?, ?, ?)";
-        Query nativeQuery = eManager.createNativeQuery(sql);
-
         // Example product data
         Object[][] productData = {
-            {101, "Soup", "2022-11-22", 20},
-            {102, "Shampoo", "2023-02-10", 55},
-            {103, "Brush", "2023-04-18", 75},
-            {104, "Pen", "2023-06-12", 25}
+            {"Soup", LocalDate.of(2022, 11, 22), 20},
+            {"Shampoo", LocalDate.of(2023, 2, 10), 55},
+            {"Brush", LocalDate.of(2023, 4, 18), 75},
+            {"Pen", LocalDate.of(2023, 6, 12), 25}
         };
 
-        // Loop to insert multiple rows
-        for (Object[] data : productData) {
-            nativeQuery.setParameter(1, data[0]);
-            nativeQuery.setParameter(2, data[1]);
-            nativeQuery.setParameter(3, data[2]);
-            nativeQuery.setParameter(4, data[3]);
-            nativeQuery.executeUpdate(); // Executes the insert
-        }
+        // 500 rows per round trip, commit every 20 batches
+        NativeBulkInserter inserter = new NativeBulkInserter(500, 20);
+        NativeBulkInserter.Result result = inserter.insert(eManager, Arrays.stream(productData));
 
-        transaction.commit();
-        System.out.println("✅ Products inserted successfully.");
+        System.out.println("✅ Products inserted successfully. " + result);
     }
 
-    // 🔹 READ All Columns based on Condition <Product>
-    public static void readAllColumns() {
-        String query = "SELECT * FROM Product_1 WHERE price > ?";
+    // 🔹 UPSERT using Native SQL (ON DUPLICATE KEY UPDATE on MySQL, see ProductUpsert)
+    private static void upsert() {
+        // Product feed: existing ids are updated, new ones inserted
+        Object[][] feed = {
+            {101, "Soup", LocalDate.of(2022, 11, 22), 22},
+            {102, "Shampoo", LocalDate.of(2023, 2, 10), 60},
+            {105, "Comb", LocalDate.of(2023, 7, 1), 15}
+        };
 
-        Query nativeQuery = eManager.createNativeQuery(query, Product.class); // map full result to Product entity
-        nativeQuery.setParameter(1, 40);
+        // 500 rows per round trip, commit every 20 batches
+        ProductUpsert.Result result = new ProductUpsert(500, 20).upsert(eManager, Arrays.stream(feed));
 
-        List<Product> productsList = nativeQuery.getResultList(); // Directly mapped to Product objects
+        System.out.println("✅ Products upserted successfully. " + result);
+    }
 
-        for (Product product : productsList) {
-            System.out.println(product);
-        }
+    // 🔹 READ All Columns based on Condition <Product> (streamed, constant memory)
+    public static void readAllColumns() {
+        Query nativeQuery = ProductQueries.ABOVE_PRICE.on(eManager) // map full result to Product entity
+            .set(1, 40)
+            .query();
+
+        // Each Product is printed as soon as it is fetched, then evicted from the persistence context
+        long rows = new StreamingReader(eManager).forEach(nativeQuery, System.out::println);
+        System.out.println("Rows read: " + rows);
     }
     
     // 🔹 READ All Specific Columns based on Condition <Object>
     public static void read() {
-        String query = "SELECT Product_id, name, price FROM Product_1 WHERE price > ?";
+        // Partial result mapped to the ProductSummary record (@SqlResultSetMapping on Product)
+        List<ProductSummary> resultList = ProductQueries.SUMMARIES_ABOVE_PRICE.on(eManager)
+            .set(1, 40)
+            .getResultList();
 
-        Query nativeQuery = eManager.createNativeQuery(query); // no Product.class since result is partial
-        nativeQuery.setParameter(1, 40);
+        for (ProductSummary product : resultList) {
+            System.out.println("ID: " + product.id() + ", Name: " + product.name() + ", Price: " + product.price());
+        }
+    }
 
-        List<Object[]> resultList = nativeQuery.getResultList();
+    // 🔹 READ by date range (index range scan on idx_product_made_price)
+    public static void readQuarter() {
+        DateRange q2 = DateRange.quarter(2023, 2);
 
-        for (Object[] row : resultList) {
-            System.out.println("ID: " + row[0] + ", Name: " + row[1] + ", Price: " + row[2]);
+        for (Product product : ProductQueries.madeIn(eManager, q2)) {
+            System.out.println(product.getManufacturingDate() + "\t" + product.getName() + "\t" + product.getPrice());
         }
+        Object[] totals = ProductQueries.totalsMadeIn(eManager, q2); // Answered from the index alone
+        System.out.println("Q2 2023: " + totals[0] + " products, total price " + totals[1]);
+    }
+
+    // 🔹 MIGRATE legacy manufacturingDate strings (mixed formats) → manufactured_on DATE
+    private static void migrateDates() {
+        ManufacturingDateMigration.Result result = new ManufacturingDateMigration(1_000).migrate(eFactory);
+        System.out.println("✅ Dates migrated. " + result);
     }
 
     // 🔹 UPDATE price using Native SQL
@@ -91,12 +118,12 @@ public class NativeSQLCrudOperation {
         EntityTransaction transaction = eManager.getTransaction();
         transaction.begin();
 
-        String sql = "UPDATE Product_1 SET price = 100 WHERE Product_id IN (?, ?)";
-        Query nativeQuery = eManager.createNativeQuery(sql);
-        nativeQuery.setParameter(1, 102);
-        nativeQuery.setParameter(2, 104);
-
-        int rows = nativeQuery.executeUpdate();
+        // Ids written by upsert(); generated ids start at the sequence's initial value instead
+        int rows = ProductQueries.SET_PRICE_BY_IDS.on(eManager)
+            .set(1, 100)
+            .set(2, 102)
+            .set(3, 105)
+            .executeUpdate();
         System.out.println("✅ Rows updated: " + rows);
 
         transaction.commit();
@@ -107,13 +134,28 @@ public class NativeSQLCrudOperation {
         EntityTransaction transaction = eManager.getTransaction();
         transaction.begin();
 
-        String sql = "DELETE FROM Product_1 WHERE price = ?";
-        Query nativeQuery = eManager.createNativeQuery(sql);
-        nativeQuery.setParameter(1, 100);
-
-        int rows = nativeQuery.executeUpdate();
+        int rows = ProductQueries.DELETE_BY_PRICE.on(eManager)
+            .set(1, 100)
+            .executeUpdate();
         System.out.println("✅ Rows deleted: " + rows);
 
         transaction.commit();
     }
+
+    // 🔹 UPDATE in chunks – Same change as one big UPDATE, but no chunk holds its row locks for long
+    private static void updateChunked() {
+        ChunkedBulkMutation.Result result = new ChunkedBulkMutation(Product.class, 1_000, 50)
+            .update(eFactory, "price = ?", List.of(120), "price = ?", List.of(100));
+        result.getChunks().forEach(System.out::println); // Rows/sec and lock wait per chunk
+        System.out.println("✅ Rows updated: " + result);
+    }
+
+    // 🔹 DELETE in chunks – Re-running after an interruption continues after the last committed chunk
+    private static void deleteChunked() {
+        ChunkedBulkMutation.Result result = new ChunkedBulkMutation(Product.class, 1_000, 50,
+                Paths.get("delete-by-price.checkpoint"))
+            .delete(eFactory, "price = ?", 100);
+        result.getChunks().forEach(System.out::println);
+        System.out.println("✅ Rows deleted: " + result);
+    }
 }
@@ -1,30 +1,72 @@
 package com.main;
 
+import java.time.LocalDate;
+
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
+import javax.persistence.ColumnResult;
+import javax.persistence.ConstructorResult;
 import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.SqlResultSetMapping;
 import javax.persistence.Table;
+import javax.persistence.Version;
+
+import org.hibernate.annotations.ColumnDefault;
 
 // Entity Class
 
 @Entity
-@Table(name="Product_1") // Optional
+@Cacheable // Second-level cache (shared-cache-mode ENABLE_SELECTIVE)
+@Table(name="Product_1", // Optional
+       indexes={
+        @Index(name="idx_product_price_id", columnList="price, Product_id"), // Keyset pagination
+        @Index(name="idx_product_made_price", columnList="manufactured_on, price"), // Date ranges (+ covered price)
+        @Index(name="idx_product_name", columnList="name")}) // Lookups / deletes by name
+@SqlResultSetMapping( // Native rows → ProductSummary (no entity hydration)
+ name = "ProductSummary",
+ classes = @ConstructorResult(targetClass = ProductSummary.class, columns = {
+  @ColumnResult(name = "Product_id", type = Integer.class),
+  @ColumnResult(name = "name", type = String.class),
+  @ColumnResult(name = "price", type = Integer.class)})
+)
 public class Product {
 	
 	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_1_seq")
+	@SequenceGenerator(name = "product_1_seq", sequenceName = "product_1_seq", initialValue = 1_000, allocationSize = 50) // 50 ids per round trip
 	@Column(name="Product_id") //Optional
 	private int id;
 	@Column(length=25)
 	private String name;
-	private String manufacturingDate;
+	// DATE column; the old free-text manufacturingDate column is read only by ManufacturingDateMigration
+	@Column(name="manufactured_on")
+	private LocalDate manufacturingDate;
 	private int price;
+	// Optimistic lock; DEFAULT 0 keeps plain JDBC inserts (NativeBulkInserter, benchmarks) valid.
+	// Bulk and native UPDATEs must increment it themselves ("version = version + 1")
+	@Version
+	@ColumnDefault("0")
+	private int version;
 	
 	
 	public Product() {
 		// TODO Auto-generated constructor stub
 	}
 
-	public Product(int id, String name, String manufacturingDate, int price) {
+	// Id assigned on persist
+	public Product(String name, LocalDate manufacturingDate, int price) {
+		super();
+		this.name = name;
+		this.manufacturingDate = manufacturingDate;
+		this.price = price;
+	}
+
+	public Product(int id, String name, LocalDate manufacturingDate, int price) {
 		super();
 		this.id = id;
 		this.name = name;
@@ -48,11 +90,11 @@ public class Product {
 		this.name = name;
 	}
 
-	public String getManufacturingDate() {
+	public LocalDate getManufacturingDate() {
 		return manufacturingDate;
 	}
 
-	public void setManufacturingDate(String manufacturingDate) {
+	public void setManufacturingDate(LocalDate manufacturingDate) {
 		this.manufacturingDate = manufacturingDate;
 	}
 
@@ -64,6 +106,11 @@ public class Product {
 		this.price = price;
 	}
 
+	// Read-only: Hibernate maintains it
+	public int getVersion() {
+		return version;
+	}
+
 	@Override
 	public String toString() {
 		return "Product [id=" + id + ", name=" + name + ", ManufacturingDate=" + manufacturingDate + ", price=" + price
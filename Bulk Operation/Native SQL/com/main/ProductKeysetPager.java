@@ -0,0 +1,68 @@
+package com.main;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+// Keyset (seek) pagination over Product_1 ordered by (price, Product_id), using native SQL.
+// Each page continues after the last seen (price, id) instead of using OFFSET,
+// so deep pages stay an index range scan on idx_product_price_id.
+// Queries: ProductQueries.FIRST_PAGE / NEXT_PAGE.
+// Returned products are detached (merge() one to change it), as are products of the same id the
+// caller had loaded before.
+public class ProductKeysetPager {
+
+    private final EntityManager eManager;
+    private final int pageSize;
+
+    public ProductKeysetPager(EntityManager eManager, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be >= 1");
+        }
+        this.eManager = eManager;
+        this.pageSize = pageSize;
+    }
+
+    // 🔹 Products with price > min; pass null as token for the first page
+    public KeysetPage<Product> page(int min, String token) {
+        QueryHandle.Call<Product> nativeQuery;
+        if (token == null) {
+            nativeQuery = ProductQueries.FIRST_PAGE.on(eManager);
+        } else {
+            int[] key = decode(token);
+            nativeQuery = ProductQueries.NEXT_PAGE.on(eManager);
+            nativeQuery.set(2, key[0]);
+            nativeQuery.set(3, key[0]);
+            nativeQuery.set(4, key[1]);
+        }
+        nativeQuery.set(1, min);
+        nativeQuery.maxResults(pageSize + 1); // Rendered as LIMIT by the dialect
+
+        List<Product> rows = nativeQuery.getResultList();
+        rows.forEach(eManager::detach); // Read-only and detached: walking every page keeps the persistence context empty
+        if (rows.size() <= pageSize) {
+            return new KeysetPage<>(rows, null);
+        }
+
+        List<Product> items = rows.subList(0, pageSize);
+        Product last = items.get(pageSize - 1);
+        return new KeysetPage<>(items, encode(last.getPrice(), last.getId()));
+    }
+
+    static String encode(int price, int id) {
+        String key = price + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static int[] decode(String token) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = key.indexOf(':');
+            return new int[] {Integer.parseInt(key.substring(0, sep)), Integer.parseInt(key.substring(sep + 1))};
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid continuation token: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.main;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+// Every native statement of this project, parsed and registered once by register() at startup.
+// Parameters are the JDBC ? placeholders, declared by position with their Java type; callers go
+// through the typed handles below, never through SQL strings.
+public final class ProductQueries {
+
+    public static final QueryHandle<Product> ABOVE_PRICE = QueryHandle.nativeQuery("Product.abovePrice",
+            "SELECT * FROM Product_1 WHERE price > ?", Product.class)
+        .param(1, Integer.class);
+
+    // Rows → ProductSummary record (@SqlResultSetMapping on Product)
+    public static final QueryHandle<ProductSummary> SUMMARIES_ABOVE_PRICE = QueryHandle.nativeQuery("Product.summariesAbovePrice",
+            "SELECT Product_id, name, price FROM Product_1 WHERE price > ?", "ProductSummary", ProductSummary.class)
+        .param(1, Integer.class);
+
+    // Keyset pagination (ProductKeysetPager)
+    public static final QueryHandle<Product> FIRST_PAGE = QueryHandle.nativeQuery("Product.firstPage",
+            "SELECT * FROM Product_1 WHERE price > ? ORDER BY price, Product_id", Product.class)
+        .param(1, Integer.class)
+        .hint("org.hibernate.readOnly", true); // Pages are handed out detached, see ProductKeysetPager
+
+    public static final QueryHandle<Product> NEXT_PAGE = QueryHandle.nativeQuery("Product.nextPage",
+            "SELECT * FROM Product_1 WHERE price > ?"
+            + " AND (price > ? OR (price = ? AND Product_id > ?))"
+            + " ORDER BY price, Product_id", Product.class)
+        .param(1, Integer.class)
+        .param(2, Integer.class)
+        .param(3, Integer.class)
+        .param(4, Integer.class)
+        .hint("org.hibernate.readOnly", true);
+
+    // Date ranges (half-open, see DateRange): index range scan on idx_product_made_price
+    public static final QueryHandle<Product> MADE_IN = QueryHandle.nativeQuery("Product.madeIn",
+            "SELECT * FROM Product_1 WHERE manufactured_on >= ? AND manufactured_on < ?"
+            + " ORDER BY manufactured_on, price", Product.class)
+        .param(1, LocalDate.class)
+        .param(2, LocalDate.class);
+
+    // Covered by (manufactured_on, price): no table rows are read
+    public static final QueryHandle<Object[]> TOTALS_MADE_IN = QueryHandle.nativeQuery("Product.totalsMadeIn",
+            "SELECT COUNT(*), COALESCE(SUM(price), 0) FROM Product_1 WHERE manufactured_on >= ? AND manufactured_on < ?",
+            Object[].class)
+        .param(1, LocalDate.class)
+        .param(2, LocalDate.class);
+
+    // Writes invalidate only the Product_1 cache regions; version + 1 so optimistic writers holding
+    // the old row fail instead of overwriting this change
+    public static final QueryHandle<Void> SET_PRICE_BY_IDS = QueryHandle.nativeUpdate("Product.setPriceByIds",
+            "UPDATE Product_1 SET price = ?, version = version + 1 WHERE Product_id IN (?, ?)", Product.class)
+        .param(1, Integer.class)
+        .param(2, Integer.class)
+        .param(3, Integer.class);
+
+    public static final QueryHandle<Void> DELETE_BY_PRICE = QueryHandle.nativeUpdate("Product.deleteByPrice",
+            "DELETE FROM Product_1 WHERE price = ?", Product.class)
+        .param(1, Integer.class);
+
+    private static final List<QueryHandle<?>> ALL = Arrays.asList(ABOVE_PRICE, SUMMARIES_ABOVE_PRICE,
+        FIRST_PAGE, NEXT_PAGE, MADE_IN, TOTALS_MADE_IN, SET_PRICE_BY_IDS, DELETE_BY_PRICE);
+
+    private ProductQueries() {
+    }
+
+    // 🔹 Once per EntityManagerFactory, before the first call through a handle
+    public static void register(EntityManagerFactory eFactory) {
+        EntityManager eManager = eFactory.createEntityManager();
+        try {
+            for (QueryHandle<?> handle : ALL) {
+                handle.register(eFactory, eManager);
+            }
+        } finally {
+            eManager.close();
+        }
+    }
+
+    // 🔹 Products manufactured in the range, by date then price
+    public static List<Product> madeIn(EntityManager eManager, DateRange range) {
+        return MADE_IN.on(eManager).set(1, range.from()).set(2, range.until()).getResultList();
+    }
+
+    // 🔹 {count, sum of price} for the range
+    public static Object[] totalsMadeIn(EntityManager eManager, DateRange range) {
+        return TOTALS_MADE_IN.on(eManager).set(1, range.from()).set(2, range.until()).getSingleResult();
+    }
+
+    // 🔹 Hibernate's query plan cache (needs hibernate.generate_statistics); for native SQL it holds
+    // the parsed parameter metadata
+    public static String planCacheReport(EntityManagerFactory eFactory) {
+        Statistics stats = eFactory.unwrap(SessionFactory.class).getStatistics();
+        long hits = stats.getQueryPlanCacheHitCount();
+        long misses = stats.getQueryPlanCacheMissCount();
+        return String.format("Query plan cache: hits=%d, misses=%d, hit rate=%.1f%% (%d registered queries)",
+            hits, misses, hits + misses == 0 ? 0 : 100.0 * hits / (hits + misses), ALL.size());
+    }
+}
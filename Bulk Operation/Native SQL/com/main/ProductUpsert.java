@@ -0,0 +1,201 @@
+package com.main;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityTransaction;
+
+import org.hibernate.Session;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+// JDBC-batched upsert for Product_1: inserts new Product_id values, updates existing ones.
+// The statement follows the configured dialect:
+//  - MySQL → INSERT ... AS new ON DUPLICATE KEY UPDATE (8.0.19 or later)
+//  - H2    → MERGE INTO ... USING ... WHEN MATCHED / WHEN NOT MATCHED
+// Updated rows get version + 1 (Product is @Version'ed), inserted rows the column default 0.
+// Before each batch one IN-list SELECT finds which ids already exist, which gives exact
+// inserted / updated counts (JDBC batch update counts are unreliable here, e.g. with
+// rewriteBatchedStatements=true) unless another writer touches the same ids concurrently.
+// Feed ids are used as given: keep them outside the range of Product's id sequence.
+public class ProductUpsert {
+
+    private static final String COLUMNS = "Product_id, name, manufactured_on, price";
+
+    // Row alias (MySQL 8.0.19+): VALUES(col) in the UPDATE part is deprecated since 8.0.20 (warning 1287)
+    private static final String MYSQL_UPSERT =
+        "INSERT INTO Product_1 (" + COLUMNS + ") VALUES (?, ?, ?, ?) AS new"
+            + " ON DUPLICATE KEY UPDATE name = new.name, manufactured_on = new.manufactured_on, price = new.price,"
+            + " version = version + 1";
+
+    // MERGE ... KEY cannot increment a column, the standard MERGE can
+    private static final String H2_UPSERT =
+        "MERGE INTO Product_1 t USING (SELECT CAST(? AS INT) Product_id, CAST(? AS VARCHAR(25)) name,"
+            + " CAST(? AS DATE) manufactured_on, CAST(? AS INT) price) s ON t.Product_id = s.Product_id"
+            + " WHEN MATCHED THEN UPDATE SET name = s.name, manufactured_on = s.manufactured_on, price = s.price,"
+            + " version = t.version + 1"
+            + " WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ") VALUES (s.Product_id, s.name, s.manufactured_on, s.price)";
+
+    private final int batchSize;
+    private final int commitEveryBatches;
+
+    public ProductUpsert(int batchSize, int commitEveryBatches) {
+        if (batchSize < 1 || commitEveryBatches < 1) {
+            throw new IllegalArgumentException("batchSize and commitEveryBatches must be >= 1");
+        }
+        this.batchSize = batchSize;
+        this.commitEveryBatches = commitEveryBatches;
+    }
+
+    // 🔹 Upsert every row of the stream: {Product_id, name, manufacturingDate (LocalDate), price}
+    public Result upsert(EntityManager eManager, Stream<Object[]> rows) {
+        Session session = eManager.unwrap(Session.class);
+        String sql = upsertSql(session.getSessionFactory().unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect());
+        EntityTransaction transaction = eManager.getTransaction();
+        long start = System.nanoTime();
+        boolean[] committed = {false}; // Any rows in the database yet, also when a later batch fails
+
+        transaction.begin();
+        try {
+            Result result = session.doReturningWork(connection -> {
+                long[] counts = new long[2]; // inserted, updated
+                int batches = 0;
+                int commits = 0;
+                List<Object[]> batch = new ArrayList<>(batchSize);
+
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    Iterator<Object[]> it = rows.iterator();
+                    while (it.hasNext()) {
+                        batch.add(it.next());
+                        if (batch.size() == batchSize || !it.hasNext()) {
+                            executeBatch(connection, ps, batch, counts);
+                            batch.clear();
+                            if (++batches % commitEveryBatches == 0 && it.hasNext()) {
+                                connection.commit(); // Keep undo log / locks bounded
+                                committed[0] = true;
+                                commits++;
+                            }
+                        }
+                    }
+                }
+                return new Result(counts[0], counts[1], batches, commits, 0);
+            });
+
+            transaction.commit();
+            committed[0] = true;
+            return new Result(result.inserted, result.updated, result.batches, result.commits + 1, System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) transaction.rollback();
+            throw e;
+        } finally {
+            // Plain JDBC bypasses Hibernate, so drop cached Product data and query results ourselves,
+            // whenever a batch was committed: a failure later on does not undo those rows
+            if (committed[0]) {
+                Cache cache = eManager.getEntityManagerFactory().getCache();
+                cache.evict(Product.class);
+                cache.unwrap(org.hibernate.Cache.class).evictQueryRegions();
+            }
+        }
+    }
+
+    private static String upsertSql(Dialect dialect) {
+        if (dialect instanceof MySQLDialect) return MYSQL_UPSERT;
+        if (dialect instanceof H2Dialect) return H2_UPSERT;
+        throw new IllegalStateException("No upsert statement for " + dialect.getClass().getSimpleName());
+    }
+
+    private static void executeBatch(Connection connection, PreparedStatement ps, List<Object[]> batch, long[] counts)
+            throws SQLException {
+        Set<Long> seen = existingIds(connection, batch);
+        for (Object[] data : batch) {
+            if (seen.add(((Number) data[0]).longValue())) {
+                counts[0]++; // New id (a repeat later in the same batch is an update)
+            } else {
+                counts[1]++;
+            }
+            ps.setObject(1, data[0]);
+            ps.setObject(2, data[1]);
+            ps.setObject(3, data[2]);
+            ps.setObject(4, data[3]);
+            ps.addBatch();
+        }
+        ps.executeBatch(); // One round trip for the whole batch
+    }
+
+    private static Set<Long> existingIds(Connection connection, List<Object[]> batch) throws SQLException {
+        if (batch.isEmpty()) return new HashSet<>();
+        String sql = "SELECT Product_id FROM Product_1 WHERE Product_id IN ("
+            + String.join(", ", Collections.nCopies(batch.size(), "?")) + ")";
+        try (PreparedStatement select = connection.prepareStatement(sql)) {
+            for (int i = 0; i < batch.size(); i++) {
+                select.setObject(i + 1, batch.get(i)[0]);
+            }
+            Set<Long> ids = new HashSet<>();
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong(1));
+                }
+            }
+            return ids;
+        }
+    }
+
+    public static class Result {
+        private final long inserted;
+        private final long updated;
+        private final int batches;
+        private final int commits;
+        private final long elapsedNanos;
+
+        Result(long inserted, long updated, int batches, int commits, long elapsedNanos) {
+            this.inserted = inserted;
+            this.updated = updated;
+            this.batches = batches;
+            this.commits = commits;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getInserted() {
+            return inserted;
+        }
+
+        public long getUpdated() {
+            return updated;
+        }
+
+        public int getBatches() {
+            return batches;
+        }
+
+        public int getCommits() {
+            return commits;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : (inserted + updated) * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Inserted: %d, Updated: %d, Batches: %d, Commits: %d, Time: %d ms, Rows/sec: %.0f",
+                inserted, updated, batches, commits, elapsedNanos / 1_000_000, getRowsPerSecond());
+        }
+    }
+}
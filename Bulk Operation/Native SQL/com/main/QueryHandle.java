@@ -0,0 +1,270 @@
+package com.main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Parameter;
+import javax.persistence.Query;
+
+import org.hibernate.query.NativeQuery;
+
+// A query compiled once at startup and called by name afterwards.
+// register() parses the JPQL / native SQL (failing fast on errors), checks the declared parameters
+// against the ones in the statement and stores it with EntityManagerFactory.addNamedQuery().
+// on(eManager) then rejects unknown parameters, wrongly typed values and unbound parameters
+// before anything reaches the database.
+public final class QueryHandle<R> {
+
+    private enum Kind { JPQL, NATIVE, DECLARED }
+
+    private final String name;
+    private final Kind kind;
+    private final String statement; // null for DECLARED (@NamedQuery on the entity)
+    private final Class<R> resultType; // null for UPDATE / DELETE
+    private final String resultSetMapping; // Native only, null when mapped to resultType directly
+    private final List<Class<?>> synchronizedEntities = new ArrayList<>();
+    private final Map<Object, Class<?>> parameters = new LinkedHashMap<>(); // Name or position → type
+    private final Map<String, Object> hints = new LinkedHashMap<>();
+    private volatile boolean registered;
+
+    private QueryHandle(String name, Kind kind, String statement, Class<R> resultType, String resultSetMapping) {
+        this.name = name;
+        this.kind = kind;
+        this.statement = statement;
+        this.resultType = resultType;
+        this.resultSetMapping = resultSetMapping;
+    }
+
+    // 🔹 Definitions
+
+    public static <R> QueryHandle<R> jpql(String name, String jpql, Class<R> resultType) {
+        return new QueryHandle<>(name, Kind.JPQL, jpql, resultType, null);
+    }
+
+    public static QueryHandle<Void> jpqlUpdate(String name, String jpql) {
+        return new QueryHandle<>(name, Kind.JPQL, jpql, null, null);
+    }
+
+    // Already declared with @NamedQuery (compiled by Hibernate at bootstrap); only the handle is added
+    public static <R> QueryHandle<R> declared(String name, Class<R> resultType) {
+        return new QueryHandle<>(name, Kind.DECLARED, null, resultType, null);
+    }
+
+    public static QueryHandle<Void> declaredUpdate(String name) {
+        return new QueryHandle<>(name, Kind.DECLARED, null, null, null);
+    }
+
+    // resultType is an entity class (rows mapped to it) or Object[] (plain column values)
+    public static <R> QueryHandle<R> nativeQuery(String name, String sql, Class<R> resultType) {
+        return new QueryHandle<>(name, Kind.NATIVE, sql, resultType, null);
+    }
+
+    // Rows mapped by an @SqlResultSetMapping producing resultType
+    public static <R> QueryHandle<R> nativeQuery(String name, String sql, String resultSetMapping, Class<R> resultType) {
+        return new QueryHandle<>(name, Kind.NATIVE, sql, resultType, resultSetMapping);
+    }
+
+    // Native writes are opaque to Hibernate: the listed entities limit second-level cache invalidation
+    // to their regions (without any, Hibernate invalidates every region)
+    public static QueryHandle<Void> nativeUpdate(String name, String sql, Class<?>... synchronizedEntities) {
+        QueryHandle<Void> handle = new QueryHandle<>(name, Kind.NATIVE, sql, null, null);
+        handle.synchronizedEntities.addAll(Arrays.asList(synchronizedEntities));
+        return handle;
+    }
+
+    public QueryHandle<R> param(String paramName, Class<?> type) {
+        return declare(paramName, type);
+    }
+
+    // Native ? placeholders, 1-based
+    public QueryHandle<R> param(int position, Class<?> type) {
+        return declare(position, type);
+    }
+
+    // Stored with the named query, e.g. org.hibernate.cacheable
+    public QueryHandle<R> hint(String hintName, Object value) {
+        checkNotRegistered();
+        hints.put(hintName, value);
+        return this;
+    }
+
+    private QueryHandle<R> declare(Object key, Class<?> type) {
+        checkNotRegistered();
+        parameters.put(key, wrap(type));
+        return this;
+    }
+
+    private void checkNotRegistered() {
+        if (registered) {
+            throw new IllegalStateException("Query " + name + " is already registered");
+        }
+    }
+
+    // 🔹 Startup: compile, validate, register
+    void register(EntityManagerFactory eFactory, EntityManager eManager) {
+        Query query;
+        if (kind == Kind.DECLARED) {
+            query = create(eManager);
+        } else if (kind == Kind.JPQL) {
+            query = resultType == null ? eManager.createQuery(statement) : eManager.createQuery(statement, resultType);
+        } else if (resultSetMapping != null) {
+            query = eManager.createNativeQuery(statement, resultSetMapping);
+        } else if (resultType != null && resultType != Object[].class) {
+            query = eManager.createNativeQuery(statement, resultType);
+        } else {
+            NativeQuery<?> nativeQuery = eManager.createNativeQuery(statement).unwrap(NativeQuery.class);
+            synchronizedEntities.forEach(nativeQuery::addSynchronizedEntityClass);
+            query = nativeQuery;
+        }
+        checkParameters(query);
+        if (kind != Kind.DECLARED) {
+            hints.forEach(query::setHint);
+            eFactory.addNamedQuery(name, query);
+        }
+        registered = true;
+    }
+
+    private void checkParameters(Query query) {
+        Set<String> inStatement = new TreeSet<>();
+        for (Parameter<?> parameter : query.getParameters()) {
+            Object key = parameter.getName() != null ? parameter.getName() : parameter.getPosition();
+            inStatement.add(String.valueOf(key));
+            Class<?> declaredType = parameters.get(key);
+            if (declaredType == null) {
+                throw new IllegalStateException("Query " + name + ": parameter " + key + " is not declared");
+            }
+            Class<?> expected = parameter.getParameterType() == null ? null : wrap(parameter.getParameterType());
+            if (expected != null && !expected.isAssignableFrom(declaredType) && !declaredType.isAssignableFrom(expected)) {
+                throw new IllegalStateException("Query " + name + ": parameter " + key + " is declared as "
+                    + declaredType.getSimpleName() + " but the statement expects " + expected.getSimpleName());
+            }
+        }
+        for (Object key : parameters.keySet()) {
+            if (!inStatement.contains(String.valueOf(key))) {
+                throw new IllegalStateException("Query " + name + ": declared parameter " + key + " is not in the statement");
+            }
+        }
+    }
+
+    // 🔹 Per call: a lookup by name, no parsing
+    public Call<R> on(EntityManager eManager) {
+        if (!registered) {
+            throw new IllegalStateException("Query " + name + " is not registered");
+        }
+        return new Call<>(this, create(eManager));
+    }
+
+    private Query create(EntityManager eManager) {
+        if (resultType == null || resultSetMapping != null || (kind == Kind.NATIVE && resultType == Object[].class)) {
+            return eManager.createNamedQuery(name); // Mapping / columns decide the row type
+        }
+        return eManager.createNamedQuery(name, resultType);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        if (!type.isPrimitive()) return type;
+        if (type == int.class) return Integer.class;
+        if (type == long.class) return Long.class;
+        if (type == boolean.class) return Boolean.class;
+        if (type == double.class) return Double.class;
+        if (type == float.class) return Float.class;
+        if (type == short.class) return Short.class;
+        if (type == byte.class) return Byte.class;
+        return Character.class;
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + parameters;
+    }
+
+    // 🔹 One execution of a handle
+    public static final class Call<R> {
+        private final QueryHandle<R> handle;
+        private final Query query;
+        private final Map<Object, Object> bound = new HashMap<>();
+
+        private Call(QueryHandle<R> handle, Query query) {
+            this.handle = handle;
+            this.query = query;
+        }
+
+        public Call<R> set(String paramName, Object value) {
+            check(paramName, value);
+            query.setParameter(paramName, value);
+            return this;
+        }
+
+        public Call<R> set(int position, Object value) {
+            check(position, value);
+            query.setParameter(position, value);
+            return this;
+        }
+
+        private void check(Object key, Object value) {
+            Class<?> type = handle.parameters.get(key);
+            if (type == null) {
+                throw new IllegalArgumentException("Query " + handle.name + " has no parameter " + key);
+            }
+            // Collection values (IN lists) are checked element by element
+            for (Object element : value instanceof Collection ? (Collection<?>) value : Arrays.asList(value)) {
+                if (element != null && !type.isInstance(element)) {
+                    throw new IllegalArgumentException("Query " + handle.name + ": parameter " + key + " expects "
+                        + type.getSimpleName() + ", got " + element.getClass().getSimpleName());
+                }
+            }
+            bound.put(key, value);
+        }
+
+        public Call<R> maxResults(int maxResults) {
+            query.setMaxResults(maxResults);
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        public List<R> getResultList() {
+            checkComplete();
+            return query.getResultList();
+        }
+
+        @SuppressWarnings("unchecked")
+        public R getSingleResult() {
+            checkComplete();
+            return (R) query.getSingleResult();
+        }
+
+        public int executeUpdate() {
+            checkComplete();
+            return query.executeUpdate();
+        }
+
+        // Bound query for APIs taking a javax.persistence.Query (e.g. StreamingReader)
+        public Query query() {
+            checkComplete();
+            return query;
+        }
+
+        private void checkComplete() {
+            if (bound.size() < handle.parameters.size()) {
+                Set<Object> missing = new TreeSet<>(Comparator.comparing(String::valueOf));
+                missing.addAll(handle.parameters.keySet());
+                missing.removeAll(bound.keySet());
+                throw new IllegalStateException("Query " + handle.name + ": parameter(s) " + missing + " not set");
+            }
+        }
+    }
+}
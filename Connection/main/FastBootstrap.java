@@ -0,0 +1,204 @@
+package main;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceException;
+
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.boot.internal.ParsedPersistenceXmlDescriptor;
+import org.hibernate.jpa.boot.internal.PersistenceXmlParser;
+import org.hibernate.jpa.boot.spi.Bootstrap;
+import org.hibernate.jpa.boot.spi.EntityManagerFactoryBuilder;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+
+// Drop-in replacement for Persistence.createEntityManagerFactory(unitName) for short-lived jobs.
+// - Hashes persistence.xml, the mapping files and the entity class files; when the hash matches
+//   the previous successful run, hbm2ddl "update"/"validate" is skipped (nothing can have changed).
+//   One hash file per unit name + JDBC URL + location of persistence.xml, so projects and databases
+//   sharing a unit name ("config") do not overwrite each other's hash. If a mapped table is missing
+//   anyway (database recreated or emptied), the factory is rebuilt with the full schema step.
+// - Turns off classpath scanning (units list their classes / mapping files) and the JDBC
+//   metadata lookup at startup (every unit sets hibernate.dialect).
+// - Logs how long each bootstrap phase took.
+public final class FastBootstrap {
+
+	private static final Path CACHE_DIR = Paths.get(System.getProperty("java.io.tmpdir"), "hibernate-bootstrap");
+
+	private FastBootstrap() {
+	}
+
+	public static EntityManagerFactory createEntityManagerFactory(String unitName) {
+		long start = System.nanoTime();
+
+		// 1. Parse persistence.xml
+		ParsedPersistenceXmlDescriptor unit = PersistenceXmlParser.locatePersistenceUnits(Collections.emptyMap())
+			.stream()
+			.filter(descriptor -> descriptor.getName().equals(unitName))
+			.findFirst()
+			.orElseThrow(() -> new PersistenceException("No persistence unit named " + unitName));
+		long parsed = System.nanoTime();
+
+		// 2. Hash the mapping and compare with the last successful bootstrap
+		String hash = mappingHash(unit);
+		Path hashFile = CACHE_DIR.resolve(unitName + "-" + hashFileKey(unit) + ".sha256");
+		boolean unchanged = hash.equals(readHash(hashFile));
+		String ddl = unit.getProperties().getProperty("hibernate.hbm2ddl.auto", "none");
+		boolean skipSchema = unchanged && ("update".equals(ddl) || "validate".equals(ddl));
+
+		Map<String, Object> overrides = new HashMap<>();
+		overrides.put("hibernate.archive.autodetection", "none");
+		overrides.put("hibernate.temp.use_jdbc_metadata_defaults", "false");
+		if (skipSchema) {
+			overrides.put("hibernate.hbm2ddl.auto", "none");
+		}
+		long hashed = System.nanoTime();
+
+		// 3. Collect mapping sources, then build metadata + SessionFactory (+ schema tooling)
+		EntityManagerFactoryBuilder builder = Bootstrap.getEntityManagerFactoryBuilder(unit, overrides);
+		long mapped = System.nanoTime();
+		EntityManagerFactory eFactory = builder.build();
+		if (skipSchema) {
+			String missing = missingTable(eFactory);
+			if (missing != null) {
+				eFactory.close();
+				overrides.remove("hibernate.hbm2ddl.auto");
+				skipSchema = false;
+				System.out.println("⚠ Table " + missing + " is missing, running hbm2ddl " + ddl + " after all");
+				eFactory = Bootstrap.getEntityManagerFactoryBuilder(unit, overrides).build();
+			}
+		}
+		long built = System.nanoTime();
+
+		if (!unchanged) {
+			writeHash(hashFile, hash);
+		}
+
+		System.out.printf("⏱ Bootstrap [%s]: persistence.xml %d ms | mapping hash %d ms | mapping sources %d ms | "
+				+ "metadata + session factory %d ms (schema %s) | total %d ms%n",
+			unitName, millis(start, parsed), millis(parsed, hashed), millis(hashed, mapped),
+			millis(mapped, built), skipSchema ? "skipped, mapping unchanged" : ddl, millis(start, built));
+		return eFactory;
+	}
+
+	// SHA-256 over persistence.xml, orm.xml / listed mapping files and the managed class files
+	private static String mappingHash(ParsedPersistenceXmlDescriptor unit) {
+		ClassLoader loader = Thread.currentThread().getContextClassLoader();
+		Set<String> resources = new LinkedHashSet<>();
+		resources.add("META-INF/persistence.xml");
+		resources.add("META-INF/orm.xml");
+		resources.addAll(unit.getMappingFileNames());
+		for (String className : unit.getManagedClassNames()) {
+			resources.add(className.replace('.', '/') + ".class");
+		}
+
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(unit.getProperties().toString().getBytes(StandardCharsets.UTF_8));
+			for (String resource : resources) {
+				digest.update(resource.getBytes(StandardCharsets.UTF_8));
+				for (URL url : Collections.list(loader.getResources(resource))) {
+					try (InputStream in = url.openStream()) {
+						digest.update(in.readAllBytes());
+					}
+				}
+			}
+			return hex(digest.digest());
+		} catch (IOException | NoSuchAlgorithmException e) {
+			return "unavailable-" + System.nanoTime(); // Never matches, so the schema step still runs
+		}
+	}
+
+	// Which database (JDBC URL) and which project (root of its persistence.xml) the unit is, shortened
+	private static String hashFileKey(ParsedPersistenceXmlDescriptor unit) {
+		Properties props = unit.getProperties();
+		String url = props.getProperty("javax.persistence.jdbc.url", props.getProperty("hibernate.connection.url", ""));
+		String key = unit.getName() + "|" + url + "|" + unit.getPersistenceUnitRootUrl();
+		try {
+			return hex(MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8))).substring(0, 16);
+		} catch (NoSuchAlgorithmException e) {
+			return Integer.toHexString(key.hashCode());
+		}
+	}
+
+	// First mapped entity table the database does not have, null when all exist
+	private static String missingTable(EntityManagerFactory eFactory) {
+		Set<String> tables = new LinkedHashSet<>();
+		for (EntityPersister persister : eFactory.unwrap(SessionFactoryImplementor.class).getMetamodel().entityPersisters().values()) {
+			if (persister instanceof AbstractEntityPersister) {
+				tables.add(((AbstractEntityPersister) persister).getTableName());
+			}
+		}
+		EntityManager eManager = eFactory.createEntityManager();
+		try {
+			return eManager.unwrap(Session.class).doReturningWork(connection -> {
+				DatabaseMetaData metaData = connection.getMetaData();
+				for (String table : tables) {
+					if (!tableExists(metaData, connection.getCatalog(), table)) return table;
+				}
+				return null;
+			});
+		} finally {
+			eManager.close();
+		}
+	}
+
+	// Identifier case differs per database (H2 upper-cases unquoted names, MySQL keeps them)
+	private static boolean tableExists(DatabaseMetaData metaData, String catalog, String table) throws SQLException {
+		for (String name : new String[] { table, table.toUpperCase(), table.toLowerCase() }) {
+			try (ResultSet rs = metaData.getTables(catalog, null, name, null)) {
+				if (rs.next()) return true;
+			}
+		}
+		return false;
+	}
+
+	private static String hex(byte[] bytes) {
+		StringBuilder hex = new StringBuilder();
+		for (byte b : bytes) {
+			hex.append(String.format("%02x", b));
+		}
+		return hex.toString();
+	}
+
+	private static String readHash(Path hashFile) {
+		try {
+			return Files.exists(hashFile) ? new String(Files.readAllBytes(hashFile), StandardCharsets.UTF_8).trim() : null;
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	private static void writeHash(Path hashFile, String hash) {
+		try {
+			Files.createDirectories(hashFile.getParent());
+			Files.write(hashFile, hash.getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			System.err.println("❌ Could not store bootstrap hash: " + e.getMessage());
+		}
+	}
+
+	private static long millis(long from, long to) {
+		return (to - from) / 1_000_000;
+	}
+}
@@ -0,0 +1,152 @@
+package main;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import org.hibernate.engine.jdbc.connections.internal.DriverManagerConnectionProviderImpl;
+
+// Hibernate's built-in connection provider with every Connection / Statement / ResultSet
+// wrapped so executions are timed and recorded in SqlMetrics.
+// Enable with: hibernate.connection.provider_class = <package>.InstrumentedConnectionProvider
+public class InstrumentedConnectionProvider extends DriverManagerConnectionProviderImpl {
+
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	@SuppressWarnings({"rawtypes", "unchecked"}) // Raw Map in the Hibernate 5 signature
+	public void configure(Map configurationValues) {
+		super.configure(configurationValues);
+		SqlMetrics.registry().configure(
+			Long.parseLong(String.valueOf(configurationValues.getOrDefault("app.sql.slow_threshold_ms", "100"))),
+			Integer.parseInt(String.valueOf(configurationValues.getOrDefault("app.sql.n_plus_one_threshold", "10"))));
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		Connection connection = super.getConnection();
+		return proxy(Connection.class, connection, new ConnectionHandler(connection));
+	}
+
+	@Override
+	public void closeConnection(Connection connection) throws SQLException {
+		super.closeConnection(unwrapProxy(connection));
+	}
+
+	private static Connection unwrapProxy(Connection connection) {
+		return Proxy.isProxyClass(connection.getClass())
+			? ((ConnectionHandler) Proxy.getInvocationHandler(connection)).target
+			: connection;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+		return (T) Proxy.newProxyInstance(InstrumentedConnectionProvider.class.getClassLoader(), new Class<?>[] {type}, handler);
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	// Wraps prepareStatement(sql) / prepareCall(sql) / createStatement()
+	private static final class ConnectionHandler implements InvocationHandler {
+		private final Connection target;
+
+		ConnectionHandler(Connection target) {
+			this.target = target;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			Object result = InstrumentedConnectionProvider.invoke(target, method, args);
+			if (result instanceof PreparedStatement && args != null && args[0] instanceof String) {
+				StatementHandler handler = new StatementHandler((Statement) result, SqlMetrics.registry().statsFor((String) args[0]));
+				return result instanceof CallableStatement // Keeps registerOutParameter() & co. for callers
+					? proxy(CallableStatement.class, (CallableStatement) result, handler)
+					: proxy(PreparedStatement.class, (PreparedStatement) result, handler);
+			}
+			if (result instanceof Statement && !(result instanceof PreparedStatement)) {
+				return proxy(Statement.class, (Statement) result, new StatementHandler((Statement) result, null));
+			}
+			return result;
+		}
+	}
+
+	// Times execute* calls; plain Statements pass their SQL to execute(sql)
+	private static final class StatementHandler implements InvocationHandler {
+		private final Statement target;
+		private final StatementStats prepared;
+
+		StatementHandler(Statement target, StatementStats prepared) {
+			this.target = target;
+			this.prepared = prepared;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			if (!method.getName().startsWith("execute")) {
+				return InstrumentedConnectionProvider.invoke(target, method, args);
+			}
+			StatementStats stats = prepared != null || args == null || !(args[0] instanceof String)
+				? prepared
+				: SqlMetrics.registry().statsFor((String) args[0]);
+
+			long start = System.nanoTime();
+			Object result = InstrumentedConnectionProvider.invoke(target, method, args);
+			long elapsed = System.nanoTime() - start;
+			if (stats == null) {
+				return result;
+			}
+
+			SqlMetrics.registry().record(stats, elapsed, affectedRows(result));
+			if (result instanceof ResultSet) {
+				ResultSet resultSet = (ResultSet) result;
+				return proxy(ResultSet.class, resultSet, new ResultSetHandler(resultSet, stats));
+			}
+			return result;
+		}
+
+		private static long affectedRows(Object result) {
+			if (result instanceof Integer) return (Integer) result;
+			if (result instanceof Long) return (Long) result;
+			if (result instanceof int[]) {
+				long sum = 0;
+				for (int count : (int[]) result) if (count > 0) sum += count;
+				return sum;
+			}
+			return 0;
+		}
+	}
+
+	// Counts rows read through next()
+	private static final class ResultSetHandler implements InvocationHandler {
+		private final ResultSet target;
+		private final StatementStats stats;
+
+		ResultSetHandler(ResultSet target, StatementStats stats) {
+			this.target = target;
+			this.stats = stats;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			Object result = InstrumentedConnectionProvider.invoke(target, method, args);
+			if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+				stats.addRows(1);
+			}
+			return result;
+		}
+	}
+}
@@ -2,18 +2,18 @@ package main;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
-import javax.persistence.Persistence;
 
 public class Launch {
 	public static void main(String[] args) {
 		
-		EntityManagerFactory eFactory = Persistence.createEntityManagerFactory("config");
+		EntityManagerFactory eFactory = FastBootstrap.createEntityManagerFactory("config"); // Skips schema update when mapping is unchanged
 		
 		EntityManager eManager = eFactory.createEntityManager();
 				
 		System.out.println(eManager);
 		
 		System.out.println("Connection Created Successful...");
+		System.out.println(SqlMetrics.registry().report()); // Statements run at bootstrap (schema checks)
 	}
 
 }
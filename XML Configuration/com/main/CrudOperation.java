@@ -1,9 +1,12 @@
 package com.main;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.EntityTransaction;
-import javax.persistence.Persistence;
 
 public class CrudOperation {
 
@@ -14,81 +17,108 @@ public class CrudOperation {
     public static void main(String[] args) {
         
         // Step 1: Load persistence unit from persistence.xml
-        eFactory = Persistence.createEntityManagerFactory("config");
+        eFactory = FastBootstrap.createEntityManagerFactory("config"); // Skips schema update when mapping is unchanged
 
         // Step 2: Create EntityManager to interact with DB
         eManager = eFactory.createEntityManager();
 
         // Uncomment only one operation at a time to avoid conflicts
-        // insert();   // For Inserting data
-         read();     // For Reading data
-        // update();   // For Updating data
-        // delete();      // For Deleting data
+        // Ids come from a sequence: pass them as program arguments, or the lowest ids in the table are used
+        // insert();   // For Inserting data (prints the generated ids)
+        List<Integer> ids = existingIds(args, 2);
+        if (ids.isEmpty()) {
+            System.out.println("❌ No employees yet: run insert() first");
+        } else {
+             read(ids.get(0));     // For Reading data
+            // update(ids.get(0));   // For Updating data
+            // updateWriteBehind(ids.get(0), ids.get(ids.size() - 1));   // For Updating data asynchronously (batched in the background)
+            // delete(ids.get(0));      // For Deleting data
+        }
 
         // Step 3: Close resources
         eManager.close();
         eFactory.close();
+        System.out.println(SqlMetrics.registry().report()); // What ran, how often, how long
     }
 
-    // INSERT operation: Adds multiple Employee records to the DB
-    public static void insert() {
-        EntityTransaction transaction = eManager.getTransaction();
-        transaction.begin();
-
+    // INSERT operation: Adds multiple Employee records to the DB, returns their generated ids
+    public static List<Integer> insert() {
         // Creating employee records
-        Employee e1 = new Employee(1, "John Doe", "New York", "Manager", 1234567890L);
-        Employee e2 = new Employee(2, "Jane Smith", "Los Angeles", "Developer", 9876543210L);
-        Employee e3 = new Employee(3, "Peter Jones", "Chicago", "Analyst", 5551112222L);
-        Employee e4 = new Employee(4, "Mary Brown", "Houston", "HR Specialist", 4443332211L);
-        Employee e5 = new Employee(5, "David Lee", "Miami", "Designer", 7778889900L);
-
-        // Persisting employee objects to DB
-        eManager.persist(e1);
-        eManager.persist(e2);
-        eManager.persist(e3);
-        eManager.persist(e4);
-        eManager.persist(e5);
+        List<Employee> employees = Arrays.asList(
+            new Employee("John Doe", "New York", "Manager", 1234567890L),
+            new Employee("Jane Smith", "Los Angeles", "Developer", 9876543210L),
+            new Employee("Peter Jones", "Chicago", "Analyst", 5551112222L),
+            new Employee("Mary Brown", "Houston", "HR Specialist", 4443332211L),
+            new Employee("David Lee", "Miami", "Designer", 7778889900L));
+
+        // Persisting in JDBC batches, flushing and clearing at each batch boundary
+        BatchPersister<Employee> persister = new BatchPersister<>(eManager);
+        persister.persistAll(employees);
+
+        List<Integer> ids = employees.stream().map(Employee::getId).collect(Collectors.toList());
+        System.out.println("✅ Data Inserted Successfully... (" + persister.getPersistedCount() + " rows, ids " + ids + ")");
+        return ids;
+    }
 
-        transaction.commit();
-        System.out.println("✅ Data Inserted Successfully...");
+    // Ids passed as program arguments, else the lowest count ids in the table (empty before the first insert)
+    private static List<Integer> existingIds(String[] args, int count) {
+        if (args.length > 0) {
+            return Arrays.stream(args).map(Integer::valueOf).collect(Collectors.toList());
+        }
+        return eManager.createQuery("SELECT e.id FROM Employee e ORDER BY e.id", Integer.class)
+            .setMaxResults(count)
+            .getResultList();
     }
 
     // READ operation: Fetches a single Employee record by ID
-    public static void read() {
-        // Retrieving employee with ID 2
-        Employee emp = eManager.find(Employee.class, 2);
+    public static void read(int id) {
+        Employee emp = eManager.find(Employee.class, id);
         
         if (emp != null) {
             System.out.println("✅ Data Retrieved: " + emp);
         } else {
-            System.out.println("❌ Employee not found with ID 3");
+            System.out.println("❌ Employee not found with ID " + id);
         }
     }
 
-    // UPDATE operation: Updates the post of Employee with ID 3
-    public static void update() {
-        EntityTransaction transaction = eManager.getTransaction();
-        transaction.begin();
+    // UPDATE operation: Updates the post of the Employee with the given ID
+    // Versioned: a concurrent change to the same row makes the commit fail instead of being overwritten,
+    // and the executor re-runs the whole find + change on the fresh row
+    public static void update(int id) {
+        OptimisticRetryExecutor retry = new OptimisticRetryExecutor(eFactory);
+        Employee employee = retry.execute(em -> {
+            Employee found = em.find(Employee.class, id); // Finding existing employee (current version)
+            if (found != null) {
+                found.setPost("HR");       // Updating the post, written on commit
+            }
+            return found;
+        });
 
-        // Finding existing employee
-        Employee employee = eManager.find(Employee.class, 3);
         if (employee != null) {
-            employee.setPost("HR");        // Updating the post
-            eManager.merge(employee);      // Applying the update
-            System.out.println("✅ Data Updated Successfully...");
+            System.out.println("✅ Data Updated Successfully... (" + retry + ")");
         } else {
             System.out.println("❌ Employee not found. Update failed.");
         }
+    }
 
-        transaction.commit();
+    // UPDATE operation (write-behind): callers only enqueue, a background thread commits in batches
+    public static void updateWriteBehind(int id, int otherId) {
+        try (EmployeeWriteBehind writeBehind = new EmployeeWriteBehind(eFactory)) {
+            writeBehind.update(EmployeeChange.of(id).post("HR"));
+            writeBehind.update(EmployeeChange.of(id).city("Boston"));   // Coalesced with the change above
+            writeBehind.update(EmployeeChange.of(otherId).post("Team Lead"));
+
+            writeBehind.flush(); // Wait for the commit (close() does this as well)
+            System.out.println("✅ Data Updated Successfully... (" + writeBehind + ")");
+        }
     }
 
-    // DELETE operation: Deletes Employee with ID 3
-    public static void delete() {
+    // DELETE operation: Deletes the Employee with the given ID
+    public static void delete(int id) {
         EntityTransaction transaction = eManager.getTransaction();
         transaction.begin();
 
-        Employee employee = eManager.find(Employee.class, 3);
+        Employee employee = eManager.find(Employee.class, id);
         if (employee != null) {
             eManager.remove(employee);  // Removing the employee
             System.out.println("✅ Data Deleted Successfully...");
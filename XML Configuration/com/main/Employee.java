@@ -6,11 +6,21 @@ public class Employee {
 	private String city;
 	private String post;
 	private long mobileNo;
+	private int version; // Optimistic lock, mapped with <version> in orm.xml
 	
 	public Employee() {
 		super();
 	}
 	
+	// Id assigned on persist
+	public Employee(String name, String city, String post, long mobileNo) {
+		super();
+		this.name = name;
+		this.city = city;
+		this.post = post;
+		this.mobileNo = mobileNo;
+	}
+	
 	public Employee(int id, String name, String city, String post, long mobileNo) {
 		super();
 		this.id = id;
@@ -50,10 +60,16 @@ public class Employee {
 	public void setMobileNo(long mobileNo) {
 		this.mobileNo = mobileNo;
 	}
+	public int getVersion() {
+		return version;
+	}
+	public void setVersion(int version) {
+		this.version = version;
+	}
 	
 	@Override
 	public String toString() {
 		return "Employee [id=" + id + ", name=" + name + ", city=" + city + ", post=" + post + ", mobileNo=" + mobileNo
-				+ "]";
+				+ ", version=" + version + "]";
 	}
 }
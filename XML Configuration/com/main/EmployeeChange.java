@@ -0,0 +1,57 @@
+package com.main;
+
+// One pending change to an Employee: only the non-null fields are written.
+// Immutable, so it can be handed to a journal (see EmployeeWriteBehind.Hooks) as is.
+public final class EmployeeChange {
+
+    private final int id;
+    private final String city;
+    private final String post;
+    private final Long mobileNo;
+
+    private EmployeeChange(int id, String city, String post, Long mobileNo) {
+        this.id = id;
+        this.city = city;
+        this.post = post;
+        this.mobileNo = mobileNo;
+    }
+
+    public static EmployeeChange of(int id) {
+        return new EmployeeChange(id, null, null, null);
+    }
+
+    public EmployeeChange city(String city) {
+        return new EmployeeChange(id, city, post, mobileNo);
+    }
+
+    public EmployeeChange post(String post) {
+        return new EmployeeChange(id, city, post, mobileNo);
+    }
+
+    public EmployeeChange mobileNo(long mobileNo) {
+        return new EmployeeChange(id, city, post, mobileNo);
+    }
+
+    // Coalescing: fields set by the later change win
+    public EmployeeChange then(EmployeeChange later) {
+        return new EmployeeChange(id,
+            later.city != null ? later.city : city,
+            later.post != null ? later.post : post,
+            later.mobileNo != null ? later.mobileNo : mobileNo);
+    }
+
+    void applyTo(Employee employee) {
+        if (city != null) employee.setCity(city);
+        if (post != null) employee.setPost(post);
+        if (mobileNo != null) employee.setMobileNo(mobileNo);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeChange [id=" + id + ", city=" + city + ", post=" + post + ", mobileNo=" + mobileNo + "]";
+    }
+}
@@ -0,0 +1,278 @@
+package com.main;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManagerFactory;
+
+// Write-behind queue for Employee updates: update() only enqueues and returns, a background
+// thread writes the changes in batched transactions.
+//  - Bounded: at most capacity distinct employees pending; update() blocks beyond that
+//  - Coalescing: repeated changes to the same id are merged into one UPDATE
+//  - Flushed when batchSize employees are pending or the oldest change is maxDelayMillis old
+//  - flush() blocks until everything enqueued before the call is committed (call it before shutdown);
+//    changes enqueued meanwhile do not hold it up, and it fails if the writer thread has died
+// Pending changes live only in memory: use Hooks to journal them if they must survive a crash.
+// A batch that loses an optimistic-lock race (Employee is versioned) is re-read and re-applied.
+public class EmployeeWriteBehind implements AutoCloseable {
+
+    // 🔹 Durability hooks (all optional)
+    public interface Hooks {
+        // Before update() returns, e.g. append the change to a local journal
+        default void enqueued(EmployeeChange change) {
+        }
+
+        // After the batch transaction committed, e.g. truncate the journal up to here
+        default void committed(Collection<EmployeeChange> batch) {
+        }
+
+        // The batch was rolled back and dropped, e.g. keep the journal entries for a replay
+        default void failed(Collection<EmployeeChange> batch, RuntimeException cause) {
+        }
+    }
+
+    private final int capacity;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final Hooks hooks;
+    private final OptimisticRetryExecutor retry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition work = lock.newCondition();
+    private final Condition drained = lock.newCondition();
+    private final Map<Integer, EmployeeChange> pending = new LinkedHashMap<>(); // Insertion (= age) order
+    private final Map<Integer, Long> pendingSince = new LinkedHashMap<>(); // Sequence of each id's first pending change
+    private long sequence; // Last sequence handed out by update()
+    private long oldestEnqueuedAt;
+    private int inFlight;
+    private long inFlightSince;
+    private int flushWaiters;
+    private boolean closed;
+    private boolean writerDead;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private final Thread writer;
+
+    public EmployeeWriteBehind(EntityManagerFactory eFactory, int capacity, int batchSize, long maxDelayMillis, Hooks hooks) {
+        if (capacity < 1 || batchSize < 1 || maxDelayMillis < 0) {
+            throw new IllegalArgumentException("capacity and batchSize must be >= 1, maxDelayMillis >= 0");
+        }
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.hooks = hooks;
+        this.retry = new OptimisticRetryExecutor(eFactory);
+
+        this.writer = new Thread(this::run, "employee-write-behind");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public EmployeeWriteBehind(EntityManagerFactory eFactory) {
+        this(eFactory, 10_000, 50, 200, new Hooks() { });
+    }
+
+    // 🔹 Caller side: cost is one map merge (plus the enqueued hook)
+    public void update(EmployeeChange change) {
+        lock.lock();
+        try {
+            while (pending.size() >= capacity && !pending.containsKey(change.getId()) && !closed && !writerDead) {
+                notFull.awaitUninterruptibly(); // Backpressure
+            }
+            if (closed || writerDead) {
+                throw new IllegalStateException(closed ? "Write-behind queue is closed" : "Write-behind writer thread has died");
+            }
+            boolean wasEmpty = pending.isEmpty();
+            if (wasEmpty) {
+                oldestEnqueuedAt = System.nanoTime();
+            }
+            sequence++;
+            EmployeeChange previous = pending.get(change.getId());
+            if (previous != null) {
+                pending.put(change.getId(), previous.then(change)); // Keeps its place in the queue
+                coalesced.increment();
+            } else {
+                pending.put(change.getId(), change);
+                pendingSince.put(change.getId(), sequence);
+            }
+            enqueued.increment();
+            hooks.enqueued(change);
+            // Size trigger, or the first change after an idle spell: the writer then waits maxDelay, not forever
+            if (wasEmpty || pending.size() >= batchSize) {
+                work.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 🔹 Blocks until every change enqueued before this call is committed (or failed)
+    public void flush() {
+        lock.lock();
+        try {
+            long watermark = sequence;
+            flushWaiters++; // Writer skips the time trigger while someone waits
+            try {
+                work.signal();
+                while (oldestUnfinished() <= watermark) {
+                    if (writerDead) {
+                        throw new IllegalStateException("Write-behind writer thread has died, "
+                            + (pending.size() + inFlight) + " change(s) not written");
+                    }
+                    drained.awaitUninterruptibly();
+                }
+            } finally {
+                flushWaiters--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Sequence of the oldest change not yet committed or failed; Long.MAX_VALUE when there is none.
+    // Batches are taken oldest first, so the in-flight batch is older than anything still pending.
+    private long oldestUnfinished() {
+        if (inFlight > 0) return inFlightSince;
+        Iterator<Long> it = pendingSince.values().iterator();
+        return it.hasNext() ? it.next() : Long.MAX_VALUE;
+    }
+
+    @Override
+    public void close() {
+        try {
+            flush();
+        } finally {
+            lock.lock();
+            try {
+                closed = true;
+                work.signal();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 🔹 Writer side
+    private void run() {
+        try {
+            List<EmployeeChange> batch;
+            while ((batch = nextBatch()) != null) {
+                try {
+                    write(batch);
+                    written.add(batch.size());
+                    batches.increment();
+                    hooks.committed(batch);
+                } catch (RuntimeException e) {
+                    failed.add(batch.size());
+                    System.err.println("❌ Write-behind batch of " + batch.size() + " failed: " + e.getMessage());
+                    hooks.failed(batch, e);
+                } finally {
+                    lock.lock();
+                    try {
+                        inFlight = 0;
+                        drained.signalAll(); // Flush watermarks may have been passed
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            }
+        } finally {
+            // Normal end, interrupt, or an Error / throwing hook: nobody may wait on this thread any more
+            lock.lock();
+            try {
+                writerDead = !closed;
+                drained.signalAll();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Waits for a size / time / flush trigger, then takes up to batchSize of the oldest changes
+    private List<EmployeeChange> nextBatch() {
+        lock.lock();
+        try {
+            while (true) {
+                if (pending.isEmpty()) {
+                    if (closed) return null;
+                    drained.signalAll();
+                    work.awaitUninterruptibly();
+                    continue;
+                }
+                long waitNanos = oldestEnqueuedAt + maxDelayNanos - System.nanoTime();
+                if (pending.size() >= batchSize || waitNanos <= 0 || flushWaiters > 0 || closed) {
+                    break;
+                }
+                try {
+                    work.awaitNanos(waitNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }
+
+            List<EmployeeChange> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+            inFlightSince = pendingSince.values().iterator().next();
+            Iterator<EmployeeChange> it = pending.values().iterator();
+            while (it.hasNext() && batch.size() < batchSize) {
+                EmployeeChange change = it.next();
+                batch.add(change);
+                pendingSince.remove(change.getId());
+                it.remove();
+            }
+            inFlight = batch.size(); // oldestEnqueuedAt stays: what is left is due no later than before
+            notFull.signalAll();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // One transaction per batch: a single IN-list SELECT, then JDBC-batched UPDATEs on commit
+    private void write(List<EmployeeChange> batch) {
+        Map<Integer, EmployeeChange> byId = batch.stream()
+            .collect(Collectors.toMap(EmployeeChange::getId, change -> change));
+
+        int missing = retry.execute(eManager -> {
+            List<Employee> employees = eManager
+                .createQuery("SELECT e FROM Employee e WHERE e.id IN :ids", Employee.class)
+                .setParameter("ids", byId.keySet())
+                .getResultList();
+            for (Employee employee : employees) {
+                byId.get(employee.getId()).applyTo(employee); // Dirty checking does the rest
+            }
+            return byId.size() - employees.size();
+        });
+        if (missing > 0) {
+            System.err.println("❌ Write-behind: " + missing + " employee(s) no longer exist");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Enqueued: %d, Coalesced: %d, Written: %d, Batches: %d, Failed: %d, Conflicts: %d",
+            enqueued.sum(), coalesced.sum(), written.sum(), batches.sum(), failed.sum(), retry.getConflicts());
+    }
+}